@@ -0,0 +1,47 @@
+package com.hunterai;
+
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+/**
+ * Guards the blockhound profile itself: if BlockHound stops being installed, every other test
+ * would pass without checking anything.
+ */
+class BlockHoundInstalledTest {
+    
+    @Test
+    void flagsBlockingCallOnParallelScheduler() {
+        Mono<Void> sleeping = Mono.<Void>fromRunnable(() -> {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            })
+            .subscribeOn(Schedulers.parallel());
+        
+        StepVerifier.create(sleeping)
+            .expectError(BlockingOperationError.class)
+            .verify(Duration.ofSeconds(5));
+    }
+    
+    @Test
+    void allowsBlockingCallOnBoundedElasticScheduler() {
+        Mono<Void> sleeping = Mono.<Void>fromRunnable(() -> {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+        
+        StepVerifier.create(sleeping)
+            .verifyComplete();
+    }
+}
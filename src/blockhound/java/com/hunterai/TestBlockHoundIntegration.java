@@ -0,0 +1,17 @@
+package com.hunterai;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * Blocking calls made by the test clients rather than the application, allowed so they do not
+ * mask what BlockHound reports about the code under test.
+ */
+public class TestBlockHoundIntegration implements BlockHoundIntegration {
+    
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        // WebTestClient draws multipart boundaries from SecureRandom, which reads /dev/urandom
+        builder.allowBlockingCallsInside("org.springframework.util.MimeTypeUtils", "generateMultipartBoundary");
+    }
+}
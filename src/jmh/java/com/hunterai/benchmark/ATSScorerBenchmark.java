@@ -0,0 +1,121 @@
+package com.hunterai.benchmark;
+
+import com.hunterai.dto.ATSScoreResponse;
+import com.hunterai.util.ATSScorer;
+import com.hunterai.util.TermVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exercises the ATS scoring hot path outside Spring, with synthetic resumes and job
+ * descriptions. Run with {@code mvn -Pbenchmark compile exec:exec}; the gc profiler is
+ * enabled by default to report allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ATSScorerBenchmark {
+
+    private static final String[] SKILLS = {
+        "java", "python", "javascript", "typescript", "react", "angular", "vue",
+        "node.js", "spring boot", "django", "flask", "express", "sql", "postgresql",
+        "mysql", "mongodb", "redis", "aws", "azure", "gcp", "docker", "kubernetes",
+        "terraform", "git", "ci/cd", "rest api", "graphql", "microservices", "kafka", "spark"
+    };
+
+    private static final String[] FILLER = {
+        "built", "designed", "led", "a", "team", "to", "deliver", "scalable", "services",
+        "for", "customers", "using", "and", "improved", "latency", "by", "percent", "with"
+    };
+
+    /** Number of distinct keywords in the job description. */
+    @Param({"10", "50", "200"})
+    public int keywordCount;
+
+    /** Number of skills, bullets and technologies in the resume. */
+    @Param({"20", "200", "1000"})
+    public int resumeLength;
+
+    private ATSScorer scorer;
+    private TermVector resumeVector;
+    private TermVector jobVector;
+    private String encodedResume;
+    private String encodedJob;
+    private ATSScorer.ResumeTerms resumeTerms;
+    private ATSScorer.JobTerms jobTerms;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+
+        List<String> vocabulary = new ArrayList<>();
+        for (int i = 0; vocabulary.size() < keywordCount; i++) {
+            String skill = SKILLS[i % SKILLS.length];
+            vocabulary.add(i < SKILLS.length ? skill : skill + " " + (i / SKILLS.length));
+        }
+
+        List<String> resumeTexts = new ArrayList<>();
+        for (int i = 0; i < resumeLength; i++) {
+            StringBuilder bullet = new StringBuilder();
+            int words = 8 + random.nextInt(12);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) bullet.append(' ');
+                bullet.append(random.nextInt(6) == 0
+                    ? vocabulary.get(random.nextInt(vocabulary.size()))
+                    : FILLER[random.nextInt(FILLER.length)]);
+            }
+            resumeTexts.add(bullet.toString());
+        }
+
+        resumeVector = TermVector.ofTexts(resumeTexts);
+        jobVector = TermVector.ofKeywords(vocabulary);
+        encodedResume = resumeVector.encode();
+        encodedJob = jobVector.encode();
+
+        scorer = new ATSScorer();
+        jobTerms = scorer.compileJob(jobVector);
+        resumeTerms = scorer.indexResume(resumeVector);
+    }
+
+    /** Full request path: decode both stored vectors, index the resume and build the response. */
+    @Benchmark
+    public ATSScoreResponse decodeAndScore() {
+        return scorer.score(TermVector.decode(encodedResume), TermVector.decode(encodedJob));
+    }
+
+    /** Wrapping the resume for scoring; it is scanned per job when first scored. */
+    @Benchmark
+    public ATSScorer.ResumeTerms indexResume() {
+        return scorer.indexResume(resumeVector);
+    }
+
+    /** Pair scoring with both sides already indexed, including keyword lists; the resume scan is reused. */
+    @Benchmark
+    public ATSScoreResponse scoreIndexed() {
+        return scorer.score(resumeTerms, jobTerms, null);
+    }
+
+    /** Numeric score only, as used by top-K ranking. */
+    @Benchmark
+    public int scoreValueIndexed() {
+        return scorer.scoreValue(resumeTerms, jobTerms, null);
+    }
+}
@@ -0,0 +1,127 @@
+package com.hunterai.benchmark;
+
+import com.hunterai.util.PdfTextExtractor;
+import com.hunterai.util.WorkerPool;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares sequential and page-range PDF extraction over synthetic documents of growing page
+ * count. The page count at which {@code parallel} overtakes {@code sequential} is the value to
+ * use for {@code hunterai.resumes.pdf.parallel-threshold} on the same hardware.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfExtractionBenchmark {
+
+    private static final String[] WORDS = {
+        "designed", "built", "distributed", "systems", "for", "research", "on", "machine",
+        "learning", "published", "papers", "in", "conferences", "and", "journals", "with",
+        "collaborators", "across", "departments", "using", "python", "java", "and", "sql"
+    };
+
+    private static final int LINES_PER_PAGE = 45;
+
+    /** Pages in the document. */
+    @Param({"2", "5", "10", "20", "40", "80"})
+    public int pageCount;
+
+    /** Pages per range on the parallel path. */
+    @Param({"4", "8"})
+    public int pagesPerRange;
+
+    private Path directory;
+    private Path pdf;
+    private WorkerPool pool;
+    private PdfTextExtractor sequential;
+    private PdfTextExtractor parallel;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("pdf-benchmark");
+        pdf = directory.resolve("cv.pdf");
+        writeDocument(pdf, pageCount, new Random(42));
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        pool = new WorkerPool("pdf-extract", threads, 100, false);
+        long memory = 16L * 1024 * 1024;
+        sequential = new PdfTextExtractor(Integer.MAX_VALUE, Integer.MAX_VALUE, memory, directory,
+            null, Integer.MAX_VALUE, pagesPerRange);
+        parallel = new PdfTextExtractor(Integer.MAX_VALUE, Integer.MAX_VALUE, memory, directory,
+            pool, 1, pagesPerRange);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.dispose();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /** All pages on the calling thread. */
+    @Benchmark
+    public String sequential() throws IOException {
+        return sequential.extract(pdf);
+    }
+
+    /** Page ranges on the pool, each from its own document. */
+    @Benchmark
+    public String parallel() throws IOException {
+        return parallel.extract(pdf);
+    }
+
+    private static void writeDocument(Path file, int pages, Random random) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int p = 0; p < pages; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 10);
+                    content.setLeading(15);
+                    content.newLineAtOffset(50, 740);
+                    for (int l = 0; l < LINES_PER_PAGE; l++) {
+                        StringBuilder line = new StringBuilder();
+                        for (int w = 0; w < 12; w++) {
+                            line.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                        }
+                        content.showText(line.toString());
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+    }
+}
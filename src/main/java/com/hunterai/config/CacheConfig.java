@@ -0,0 +1,26 @@
+package com.hunterai.config;
+
+import com.hunterai.util.ATSScoreCache;
+import com.hunterai.util.JobTermsCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+    
+    @Bean
+    public ATSScoreCache atsScoreCache(
+            @Value("${hunterai.ats.cache.max-entries:10000}") int maxEntries,
+            @Value("${hunterai.ats.cache.ttl:PT30M}") Duration ttl) {
+        return new ATSScoreCache(maxEntries, ttl);
+    }
+    
+    @Bean
+    public JobTermsCache jobTermsCache(
+            @Value("${hunterai.ats.job-terms-cache.max-entries:1000}") int maxEntries) {
+        return new JobTermsCache(maxEntries);
+    }
+}
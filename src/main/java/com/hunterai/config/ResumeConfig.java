@@ -0,0 +1,35 @@
+package com.hunterai.config;
+
+import com.hunterai.util.DocxTextExtractor;
+import com.hunterai.util.PdfTextExtractor;
+import com.hunterai.util.WorkerPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Configuration
+public class ResumeConfig {
+    
+    @Bean
+    public PdfTextExtractor pdfTextExtractor(
+            @Value("${hunterai.resumes.pdf.max-pages:50}") int maxPages,
+            @Value("${hunterai.resumes.pdf.max-chars:200000}") int maxChars,
+            @Value("${hunterai.resumes.pdf.max-main-memory:16MB}") DataSize maxMainMemory,
+            @Value("${hunterai.resumes.temp-directory:${java.io.tmpdir}/hunterai-resumes}") String tempDirectory,
+            @Value("${hunterai.resumes.pdf.parallel-threshold:20}") int parallelThreshold,
+            @Value("${hunterai.resumes.pdf.pages-per-range:8}") int pagesPerRange,
+            WorkerPool pdfExtractPool) {
+        return new PdfTextExtractor(maxPages, maxChars, maxMainMemory.toBytes(), Path.of(tempDirectory),
+            pdfExtractPool, parallelThreshold, pagesPerRange);
+    }
+    
+    @Bean
+    public DocxTextExtractor docxTextExtractor(
+            @Value("${hunterai.resumes.docx.max-chars:200000}") int maxChars,
+            @Value("${hunterai.resumes.docx.max-xml-size:50MB}") DataSize maxXmlSize) {
+        return new DocxTextExtractor(maxChars, maxXmlSize.toBytes());
+    }
+}
@@ -0,0 +1,36 @@
+package com.hunterai.config;
+
+import com.hunterai.util.WorkerPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulerConfig {
+    
+    @Bean(destroyMethod = "dispose")
+    public WorkerPool resumeParsePool(
+            @Value("${hunterai.workers.resume-parse.max-threads:4}") int maxThreads,
+            @Value("${hunterai.workers.resume-parse.max-queued:50}") int maxQueued,
+            @Value("${hunterai.workers.virtual-threads:false}") boolean virtualThreads) {
+        return new WorkerPool("resume-parse", maxThreads, maxQueued, virtualThreads);
+    }
+    
+    @Bean(destroyMethod = "dispose")
+    public WorkerPool jobParsePool(
+            @Value("${hunterai.workers.job-parse.max-threads:4}") int maxThreads,
+            @Value("${hunterai.workers.job-parse.max-queued:100}") int maxQueued,
+            @Value("${hunterai.workers.virtual-threads:false}") boolean virtualThreads) {
+        return new WorkerPool("job-parse", maxThreads, maxQueued, virtualThreads);
+    }
+    
+    @Bean(destroyMethod = "dispose")
+    public WorkerPool pdfExtractPool(
+            @Value("${hunterai.workers.pdf-extract.max-threads:4}") int maxThreads,
+            @Value("${hunterai.workers.pdf-extract.max-queued:100}") int maxQueued,
+            @Value("${hunterai.workers.virtual-threads:false}") boolean virtualThreads) {
+        return new WorkerPool("pdf-extract", maxThreads, maxQueued, virtualThreads);
+    }
+}
@@ -0,0 +1,26 @@
+package com.hunterai.config;
+
+import com.hunterai.util.ATSScorer;
+import com.hunterai.util.CorpusStatistics;
+import com.hunterai.util.TermDictionary;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ScoringConfig {
+    
+    @Bean
+    public TermDictionary termDictionary() {
+        return new TermDictionary();
+    }
+    
+    @Bean
+    public CorpusStatistics corpusStatistics(TermDictionary termDictionary) {
+        return new CorpusStatistics(termDictionary);
+    }
+    
+    @Bean
+    public ATSScorer atsScorer() {
+        return new ATSScorer();
+    }
+}
@@ -0,0 +1,96 @@
+package com.hunterai.config;
+
+import com.hunterai.util.ExtractorRegistry;
+import com.hunterai.util.HostGovernor;
+import com.hunterai.util.JobDescriptionScraper;
+import com.hunterai.util.JobTextAnalyzer;
+import com.hunterai.util.PageCache;
+import com.hunterai.util.SkillTaxonomy;
+import com.hunterai.util.WorkerPool;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class ScraperConfig {
+    
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider scraperConnectionProvider(
+            @Value("${hunterai.scraper.max-connections:50}") int maxConnections,
+            @Value("${hunterai.scraper.max-idle-time:PT30S}") Duration maxIdleTime) {
+        return ConnectionProvider.builder("job-scraper")
+            .maxConnections(maxConnections)
+            .maxIdleTime(maxIdleTime)
+            .pendingAcquireMaxCount(maxConnections * 4)
+            .evictInBackground(maxIdleTime)
+            .build();
+    }
+    
+    @Bean
+    public PageCache pageCache(
+            @Value("${hunterai.scraper.cache.directory:${java.io.tmpdir}/hunterai-page-cache}") String directory,
+            @Value("${hunterai.scraper.cache.max-size:200MB}") DataSize maxSize) {
+        return new PageCache(Path.of(directory), maxSize.toBytes());
+    }
+    
+    @Bean
+    public HostGovernor hostGovernor(
+            @Value("${hunterai.scraper.host.requests-per-second:2}") double requestsPerSecond,
+            @Value("${hunterai.scraper.host.burst:5}") int burst,
+            @Value("${hunterai.scraper.host.max-concurrent:4}") int maxConcurrent,
+            @Value("${hunterai.scraper.host.max-wait:PT5S}") Duration maxWait,
+            @Value("${hunterai.scraper.host.failure-threshold:5}") int failureThreshold,
+            @Value("${hunterai.scraper.host.open-duration:PT30S}") Duration openDuration,
+            @Value("${hunterai.scraper.host.idle-eviction:PT10M}") Duration idleEviction) {
+        return new HostGovernor(requestsPerSecond, burst, maxConcurrent, maxWait, failureThreshold, openDuration, idleEviction);
+    }
+    
+    @Bean
+    public ExtractorRegistry extractorRegistry() {
+        return ExtractorRegistry.defaults();
+    }
+    
+    @Bean
+    public SkillTaxonomy skillTaxonomy(
+            @Value("${hunterai.taxonomy.resource:taxonomy/skills-v1.json}") String resource) {
+        return SkillTaxonomy.load(resource);
+    }
+    
+    @Bean
+    public JobTextAnalyzer jobTextAnalyzer(SkillTaxonomy skillTaxonomy) {
+        return new JobTextAnalyzer(skillTaxonomy);
+    }
+    
+    @Bean
+    public JobDescriptionScraper jobDescriptionScraper(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider scraperConnectionProvider,
+            WorkerPool jobParsePool,
+            PageCache pageCache,
+            HostGovernor hostGovernor,
+            ExtractorRegistry extractorRegistry,
+            SkillTaxonomy skillTaxonomy,
+            @Value("${hunterai.scraper.timeout:PT10S}") Duration timeout,
+            @Value("${hunterai.scraper.max-body-size:2MB}") DataSize maxBodySize,
+            @Value("${hunterai.scraper.max-description-length:20000}") int maxDescriptionLength) {
+        HttpClient httpClient = HttpClient.create(scraperConnectionProvider)
+            .followRedirect(true)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeout.toMillis())
+            .responseTimeout(timeout);
+        
+        WebClient webClient = webClientBuilder
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+        return new JobDescriptionScraper(webClient, jobParsePool.getScheduler(), timeout, pageCache, hostGovernor,
+            extractorRegistry, skillTaxonomy, maxBodySize.toBytes(), maxDescriptionLength);
+    }
+}
@@ -2,23 +2,78 @@ package com.hunterai.controller;
 
 import com.hunterai.dto.ATSScoreResponse;
 import com.hunterai.service.ATSService;
+import com.hunterai.util.ATSScoreCache;
+import com.hunterai.util.ATSScorer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
 @RestController
 @RequestMapping("/api/ats")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "http://localhost:5173")
 public class ATSController {
     
+    private static final int MAX_RANK_LIMIT = 100;
+    
     private final ATSService service;
     
     @GetMapping("/score")
     public Mono<ATSScoreResponse> calculateScore(
             @RequestParam Long resumeId,
-            @RequestParam Long jobDescriptionId) {
-        return service.calculateScore(resumeId, jobDescriptionId);
+            @RequestParam Long jobDescriptionId,
+            @RequestParam(required = false) String weighting) {
+        return service.calculateScore(resumeId, jobDescriptionId, parseWeighting(weighting));
+    }
+    
+    @GetMapping(value = "/score/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ATSScoreResponse> calculateScores(
+            @RequestParam(required = false) Long resumeId,
+            @RequestParam(required = false) List<Long> jobDescriptionIds,
+            @RequestParam(required = false) List<Long> resumeIds,
+            @RequestParam(required = false) Long jobDescriptionId,
+            @RequestParam(required = false) String weighting) {
+        if (resumeId != null && jobDescriptionIds != null) {
+            return service.scoreAgainstJobDescriptions(resumeId, jobDescriptionIds, parseWeighting(weighting));
+        } else if (resumeIds != null && jobDescriptionId != null) {
+            return service.scoreResumesAgainst(resumeIds, jobDescriptionId, parseWeighting(weighting));
+        } else {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Provide either resumeId with jobDescriptionIds, or resumeIds with jobDescriptionId"));
+        }
+    }
+    
+    @GetMapping("/rank")
+    public Flux<ATSScoreResponse> rankResumes(
+            @RequestParam Long jobDescriptionId,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String weighting) {
+        return service.rankResumes(jobDescriptionId, Math.min(limit, MAX_RANK_LIMIT), parseWeighting(weighting));
+    }
+    
+    @GetMapping("/cache/stats")
+    public Mono<ATSScoreCache.Stats> getCacheStats() {
+        return Mono.just(service.getCacheStats());
+    }
+    
+    private static ATSScorer.Weighting parseWeighting(String weighting) {
+        if (weighting == null || weighting.isEmpty()) {
+            return ATSScorer.Weighting.UNIFORM;
+        }
+        try {
+            return ATSScorer.Weighting.valueOf(weighting.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Unknown weighting '" + weighting + "', expected one of " + Arrays.toString(ATSScorer.Weighting.values()));
+        }
     }
 }
 
@@ -1,10 +1,17 @@
 package com.hunterai.controller;
 
+import com.hunterai.dto.BulkJobDescriptionRequest;
+import com.hunterai.dto.JobDescriptionRefreshStats;
 import com.hunterai.dto.JobDescriptionRequest;
 import com.hunterai.dto.JobDescriptionResponse;
 import com.hunterai.service.JobDescriptionService;
+import com.hunterai.util.HostGovernor;
+import com.hunterai.util.JobDescriptionScraper;
+import com.hunterai.util.PageCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -21,9 +28,35 @@ public class JobDescriptionController {
         return service.analyzeJobDescription(request);
     }
     
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<JobDescriptionResponse> analyzeJobDescriptions(
+            @RequestBody BulkJobDescriptionRequest request) {
+        return service.analyzeJobDescriptions(request.getUrls());
+    }
+    
     @GetMapping("/{id}")
     public Mono<JobDescriptionResponse> getJobDescription(@PathVariable Long id) {
         return service.getJobDescription(id);
     }
+    
+    @GetMapping("/page-cache/stats")
+    public Mono<PageCache.Stats> getPageCacheStats() {
+        return Mono.just(service.getPageCacheStats());
+    }
+    
+    @GetMapping("/hosts/stats")
+    public Flux<HostGovernor.HostStats> getHostStats() {
+        return Flux.fromIterable(service.getHostStats());
+    }
+    
+    @GetMapping("/extraction/stats")
+    public Flux<JobDescriptionScraper.ExtractionStats> getExtractionStats() {
+        return Flux.fromIterable(service.getExtractionStats());
+    }
+    
+    @GetMapping("/refresh/stats")
+    public Mono<JobDescriptionRefreshStats> getRefreshStats() {
+        return Mono.just(service.getRefreshStats());
+    }
 }
 
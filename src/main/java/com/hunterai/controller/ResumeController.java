@@ -3,8 +3,8 @@ package com.hunterai.controller;
 import com.hunterai.dto.ResumeResponse;
 import com.hunterai.service.ResumeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -16,7 +16,7 @@ public class ResumeController {
     private final ResumeService service;
     
     @PostMapping("/upload")
-    public Mono<ResumeResponse> uploadResume(@RequestParam("file") MultipartFile file) {
+    public Mono<ResumeResponse> uploadResume(@RequestPart("file") FilePart file) {
         return service.uploadResume(file);
     }
     
@@ -0,0 +1,22 @@
+package com.hunterai.controller;
+
+import com.hunterai.util.WorkerPool;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/workers")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class WorkerPoolController {
+    
+    private final List<WorkerPool> workerPools;
+    
+    @GetMapping("/stats")
+    public Flux<WorkerPool.Stats> getStats() {
+        return Flux.fromIterable(workerPools).map(WorkerPool::stats);
+    }
+}
@@ -10,6 +10,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ATSScoreResponse {
+    private Long resumeId;
+    private Long jobDescriptionId;
     private int score;
     private List<KeywordMatch> matchedKeywords;
     private List<KeywordMatch> missingKeywords;
@@ -0,0 +1,14 @@
+package com.hunterai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkJobDescriptionRequest {
+    private List<String> urls;
+}
@@ -0,0 +1,21 @@
+package com.hunterai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobDescriptionRefreshStats {
+    private boolean enabled;
+    private long runs;
+    private long checked;
+    private long unchanged;
+    private long updated;
+    private long failed;
+    private long yielded; // Runs cut short because interactive scrapes were in flight
+    private LocalDateTime lastRunAt;
+}
@@ -1,5 +1,6 @@
 package com.hunterai.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,6 +20,10 @@ public class JobDescriptionResponse {
     private ExtractedData extractedData;
     private LocalDateTime createdAt;
     
+    // Only set on bulk analysis lines for URLs that could not be analyzed
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -21,6 +21,9 @@ public class JobDescription {
     
     private String url;
     
+    @Column("normalized_url")
+    private String normalizedUrl; // Set only for successfully scraped pages, used to reuse fresh analyses
+    
     @Column("title")
     private String title;
     
@@ -45,9 +48,18 @@ public class JobDescription {
     @Column("responsibilities")
     private String responsibilitiesJson; // Store as JSON string
     
+    @Column("term_vector")
+    private String termVector; // Encoded TermVector of skills, keywords and technologies
+    
+    @Column("content_hash")
+    private String contentHash; // SHA-256 of title, company and description, to detect changed postings
+    
     @Column("created_at")
     private LocalDateTime createdAt;
     
+    @Column("refreshed_at")
+    private LocalDateTime refreshedAt; // Last time the page was checked for changes, null if never
+    
     // Transient fields for easier access (will be converted to/from JSON)
     private transient List<String> requiredSkills;
     private transient List<String> keywords;
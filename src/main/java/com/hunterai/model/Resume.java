@@ -1,6 +1,7 @@
 package com.hunterai.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 import lombok.AllArgsConstructor;
@@ -28,15 +29,24 @@ public class Resume {
     @Column("skills")
     private String skillsJson; // Store as JSON string
     
+    @Column("term_vector")
+    private String termVector; // Encoded TermVector of skills, bullets and technologies
+    
+    @Column("content_hash")
+    private String contentHash; // SHA-256 of the uploaded file, to reuse the parse of re-uploads
+    
     @Column("version")
     private String version;
     
     @Column("created_at")
     private LocalDateTime createdAt;
     
-    // Transient fields for easier access
-    private transient List<Experience> experiences;
-    private transient List<String> skills;
-    private transient List<Project> projects;
+    // Transient fields for easier access (not mapped, R2DBC would try to bind them as arrays)
+    @Transient
+    private List<Experience> experiences;
+    @Transient
+    private List<String> skills;
+    @Transient
+    private List<Project> projects;
 }
 
@@ -0,0 +1,14 @@
+package com.hunterai.repository;
+
+import com.hunterai.model.JobDescription;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface JobDescriptionBatchRepository {
+    /**
+     * Inserts all job descriptions with a single batched statement and returns them with
+     * their generated IDs, in input order.
+     */
+    Flux<JobDescription> insertAll(List<JobDescription> jobDescriptions);
+}
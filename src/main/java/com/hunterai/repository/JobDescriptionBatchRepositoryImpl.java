@@ -0,0 +1,68 @@
+package com.hunterai.repository;
+
+import com.hunterai.model.JobDescription;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class JobDescriptionBatchRepositoryImpl implements JobDescriptionBatchRepository {
+    
+    private static final String INSERT_SQL = "INSERT INTO job_descriptions "
+        + "(url, normalized_url, title, company, description, required_skills, keywords, technologies, "
+        + "soft_skills, responsibilities, term_vector, content_hash, created_at) "
+        + "VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11, $12, $13)";
+    
+    private final DatabaseClient databaseClient;
+    
+    @Override
+    public Flux<JobDescription> insertAll(List<JobDescription> jobDescriptions) {
+        if (jobDescriptions.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT_SQL).returnGeneratedValues("id");
+            for (int i = 0; i < jobDescriptions.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                bind(statement, jobDescriptions.get(i));
+            }
+            return Flux.from(statement.execute())
+                .concatMap(result -> result.map((row, metadata) -> row.get("id", Long.class)))
+                .zipWithIterable(jobDescriptions, (id, jobDescription) -> {
+                    jobDescription.setId(id);
+                    return jobDescription;
+                });
+        });
+    }
+    
+    private static void bind(Statement statement, JobDescription jobDescription) {
+        Object[] values = {
+            jobDescription.getUrl(),
+            jobDescription.getNormalizedUrl(),
+            jobDescription.getTitle(),
+            jobDescription.getCompany(),
+            jobDescription.getDescription(),
+            jobDescription.getRequiredSkillsJson(),
+            jobDescription.getKeywordsJson(),
+            jobDescription.getTechnologiesJson(),
+            jobDescription.getSoftSkillsJson(),
+            jobDescription.getResponsibilitiesJson(),
+            jobDescription.getTermVector(),
+            jobDescription.getContentHash(),
+            jobDescription.getCreatedAt()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                statement.bind(i, values[i]);
+            } else {
+                statement.bindNull(i, i == values.length - 1 ? LocalDateTime.class : String.class);
+            }
+        }
+    }
+}
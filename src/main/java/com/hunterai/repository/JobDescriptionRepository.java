@@ -1,10 +1,39 @@
 package com.hunterai.repository;
 
 import com.hunterai.model.JobDescription;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
 
 @Repository
-public interface JobDescriptionRepository extends R2dbcRepository<JobDescription, Long> {
+public interface JobDescriptionRepository extends R2dbcRepository<JobDescription, Long>, JobDescriptionBatchRepository {
+    @Query("SELECT COALESCE(MAX(id), 0) FROM job_descriptions")
+    Mono<Long> findMaxId();
+    
+    Flux<JobDescription> findByIdLessThanEqual(Long id);
+    
+    Mono<JobDescription> findFirstByNormalizedUrlOrderByCreatedAtDesc(String normalizedUrl);
+    
+    /**
+     * The latest analysis of each scraped page last checked before the given time, pages linked
+     * from open job applications first, then the longest unchecked.
+     */
+    @Query("SELECT jd.* FROM job_descriptions jd "
+        + "WHERE jd.normalized_url IS NOT NULL "
+        + "AND COALESCE(jd.refreshed_at, jd.created_at) < :staleBefore "
+        + "AND jd.id = (SELECT MAX(latest.id) FROM job_descriptions latest WHERE latest.normalized_url = jd.normalized_url) "
+        + "ORDER BY CASE WHEN EXISTS (SELECT 1 FROM job_applications ja "
+        + "WHERE ja.job_link IN (jd.url, jd.normalized_url) AND ja.status IN ('NOT_APPLIED', 'APPLIED', 'INTERVIEW')) "
+        + "THEN 0 ELSE 1 END, COALESCE(jd.refreshed_at, jd.created_at) "
+        + "LIMIT :limit")
+    Flux<JobDescription> findStale(LocalDateTime staleBefore, int limit);
+    
+    @Modifying
+    @Query("UPDATE job_descriptions SET refreshed_at = :refreshedAt WHERE id = :id")
+    Mono<Integer> markRefreshed(Long id, LocalDateTime refreshedAt);
 }
-
@@ -1,8 +1,15 @@
 package com.hunterai.service;
 
 import com.hunterai.dto.ATSScoreResponse;
+import com.hunterai.util.ATSScoreCache;
+import com.hunterai.util.ATSScorer;
+
+import java.util.List;
 
 public interface ATSService {
-    reactor.core.publisher.Mono<ATSScoreResponse> calculateScore(Long resumeId, Long jobDescriptionId);
+    reactor.core.publisher.Mono<ATSScoreResponse> calculateScore(Long resumeId, Long jobDescriptionId, ATSScorer.Weighting weighting);
+    reactor.core.publisher.Flux<ATSScoreResponse> scoreAgainstJobDescriptions(Long resumeId, List<Long> jobDescriptionIds, ATSScorer.Weighting weighting);
+    reactor.core.publisher.Flux<ATSScoreResponse> scoreResumesAgainst(List<Long> resumeIds, Long jobDescriptionId, ATSScorer.Weighting weighting);
+    reactor.core.publisher.Flux<ATSScoreResponse> rankResumes(Long jobDescriptionId, int limit, ATSScorer.Weighting weighting);
+    ATSScoreCache.Stats getCacheStats();
 }
-
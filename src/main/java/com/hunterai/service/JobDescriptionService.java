@@ -1,11 +1,23 @@
 package com.hunterai.service;
 
+import com.hunterai.dto.JobDescriptionRefreshStats;
 import com.hunterai.dto.JobDescriptionRequest;
 import com.hunterai.dto.JobDescriptionResponse;
+import com.hunterai.util.HostGovernor;
+import com.hunterai.util.JobDescriptionScraper;
+import com.hunterai.util.PageCache;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface JobDescriptionService {
     Mono<JobDescriptionResponse> analyzeJobDescription(JobDescriptionRequest request);
+    Flux<JobDescriptionResponse> analyzeJobDescriptions(List<String> urls);
     Mono<JobDescriptionResponse> getJobDescription(Long id);
+    PageCache.Stats getPageCacheStats();
+    List<HostGovernor.HostStats> getHostStats();
+    List<JobDescriptionScraper.ExtractionStats> getExtractionStats();
+    JobDescriptionRefreshStats getRefreshStats();
 }
 
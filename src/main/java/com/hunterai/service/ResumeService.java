@@ -1,10 +1,10 @@
 package com.hunterai.service;
 
 import com.hunterai.dto.ResumeResponse;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.http.codec.multipart.FilePart;
 
 public interface ResumeService {
-    reactor.core.publisher.Mono<ResumeResponse> uploadResume(MultipartFile file);
+    reactor.core.publisher.Mono<ResumeResponse> uploadResume(FilePart file);
     reactor.core.publisher.Mono<ResumeResponse> getResume(Long id);
     reactor.core.publisher.Mono<ResumeResponse> optimizeResume(Long resumeId, Long jobDescriptionId);
 }
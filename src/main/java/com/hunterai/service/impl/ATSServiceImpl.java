@@ -8,114 +8,297 @@ import com.hunterai.repository.JobDescriptionRepository;
 import com.hunterai.repository.ProjectRepository;
 import com.hunterai.repository.ResumeRepository;
 import com.hunterai.service.ATSService;
+import com.hunterai.util.ATSScoreCache;
+import com.hunterai.util.ATSScorer;
+import com.hunterai.util.CorpusStatistics;
+import com.hunterai.util.JobTermsCache;
 import com.hunterai.util.JsonUtil;
+import com.hunterai.util.TermVector;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ATSServiceImpl implements ATSService {
     
+    private static final int RANKING_PREFETCH = 64;
+    private static final int RANKING_CONCURRENCY = 8;
+    private static final int CORPUS_REBUILD_RETRIES = 5;
+    private static final Duration CORPUS_REBUILD_BACKOFF = Duration.ofSeconds(2);
+    
     private final ResumeRepository resumeRepository;
     private final JobDescriptionRepository jobDescriptionRepository;
     private final ExperienceRepository experienceRepository;
     private final ProjectRepository projectRepository;
     
+    private final ATSScoreCache scoreCache;
+    private final JobTermsCache jobTermsCache;
+    private final CorpusStatistics corpusStatistics;
+    
+    private final ATSScorer scorer;
+    
+    @Value("${hunterai.ats.batch.max-ids:500}")
+    private int batchMaxIds;
+    
     @Override
-    public Mono<ATSScoreResponse> calculateScore(Long resumeId, Long jobDescriptionId) {
+    public Mono<ATSScoreResponse> calculateScore(Long resumeId, Long jobDescriptionId, ATSScorer.Weighting weighting) {
         return Mono.zip(
             resumeRepository.findById(resumeId)
                 .switchIfEmpty(Mono.error(new RuntimeException("Resume not found"))),
             jobDescriptionRepository.findById(jobDescriptionId)
                 .switchIfEmpty(Mono.error(new RuntimeException("Job description not found")))
         )
-        .flatMap(tuple -> {
-            Resume resume = tuple.getT1();
-            JobDescription jobDescription = tuple.getT2();
-            
-            // Load related entities
-            return Mono.zip(
-                experienceRepository.findByResumeId(resumeId).collectList(),
-                projectRepository.findByResumeId(resumeId).collectList()
-            )
-            .map(relatedTuple -> {
-                // Convert JSON fields to lists
-                List<String> resumeSkills = JsonUtil.fromJson(resume.getSkillsJson());
-                List<String> resumeKeywords = new ArrayList<>(resumeSkills);
-                
-                // Add experience bullets
-                relatedTuple.getT1().forEach(exp -> {
-                    List<String> bullets = JsonUtil.fromJson(exp.getBulletsJson());
-                    resumeKeywords.addAll(bullets);
-                });
-                
-                // Add project technologies
-                relatedTuple.getT2().forEach(project -> {
-                    List<String> technologies = JsonUtil.fromJson(project.getTechnologiesJson());
-                    resumeKeywords.addAll(technologies);
-                });
-                
-                // Collect job requirements
-                List<String> jobKeywords = new ArrayList<>();
-                if (jobDescription.getRequiredSkills() != null) {
-                    jobKeywords.addAll(jobDescription.getRequiredSkills());
-                } else {
-                    jobKeywords.addAll(JsonUtil.fromJson(jobDescription.getRequiredSkillsJson()));
-                }
-                if (jobDescription.getKeywords() != null) {
-                    jobKeywords.addAll(jobDescription.getKeywords());
-                } else {
-                    jobKeywords.addAll(JsonUtil.fromJson(jobDescription.getKeywordsJson()));
-                }
-                if (jobDescription.getTechnologies() != null) {
-                    jobKeywords.addAll(jobDescription.getTechnologies());
-                } else {
-                    jobKeywords.addAll(JsonUtil.fromJson(jobDescription.getTechnologiesJson()));
-                }
-                
-                // Calculate matches
-                List<String> matched = jobKeywords.stream()
-                    .filter(keyword -> resumeKeywords.stream()
-                        .anyMatch(resumeKeyword -> resumeKeyword.toLowerCase().contains(keyword.toLowerCase())))
-                    .collect(Collectors.toList());
-                
-                List<String> missing = jobKeywords.stream()
-                    .filter(keyword -> !matched.contains(keyword))
-                    .collect(Collectors.toList());
-                
-                // Calculate score
-                int score = jobKeywords.isEmpty() ? 0 : (matched.size() * 100) / jobKeywords.size();
-                
-                ATSScoreResponse response = new ATSScoreResponse();
-                response.setScore(score);
-                response.setMatchedKeywords(matched.stream()
-                    .map(kw -> createKeywordMatch(kw, true, false, "keyword"))
-                    .collect(Collectors.toList()));
-                response.setMissingKeywords(missing.stream()
-                    .map(kw -> createKeywordMatch(kw, false, false, "keyword"))
-                    .collect(Collectors.toList()));
-                response.setSuggestedKeywords(Arrays.asList(
-                    createKeywordMatch("REST APIs", false, true, "skill"),
-                    createKeywordMatch("agile", false, true, "keyword")
-                ));
-                
-                return response;
+        .flatMap(tuple -> resumeDocument(tuple.getT1())
+            .map(resume -> cachedScore(resume, jobDocument(tuple.getT2()), weighting)));
+    }
+    
+    @Override
+    public Flux<ATSScoreResponse> scoreAgainstJobDescriptions(Long resumeId, List<Long> jobDescriptionIds, ATSScorer.Weighting weighting) {
+        if (jobDescriptionIds.size() > batchMaxIds) {
+            return Flux.error(tooManyIds("jobDescriptionIds"));
+        }
+        // Load the resume once, then score each job description on the parallel scheduler
+        return resumeRepository.findById(resumeId)
+            .switchIfEmpty(Mono.error(new RuntimeException("Resume not found")))
+            .flatMap(this::resumeDocument)
+            .flatMapMany(resume -> jobDescriptionRepository.findAllById(distinct(jobDescriptionIds))
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .map(jobDescription -> cachedScore(resume, jobDocument(jobDescription), weighting))
+                .sequential());
+    }
+    
+    @Override
+    public Flux<ATSScoreResponse> scoreResumesAgainst(List<Long> resumeIds, Long jobDescriptionId, ATSScorer.Weighting weighting) {
+        if (resumeIds.size() > batchMaxIds) {
+            return Flux.error(tooManyIds("resumeIds"));
+        }
+        // Load the job description once, then score each resume on the parallel scheduler
+        return jobDescriptionRepository.findById(jobDescriptionId)
+            .switchIfEmpty(Mono.error(new RuntimeException("Job description not found")))
+            .map(this::jobDocument)
+            .flatMapMany(job -> resumeRepository.findAllById(distinct(resumeIds))
+                .flatMap(this::resumeDocument)
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .map(resume -> cachedScore(resume, job, weighting))
+                .sequential());
+    }
+    
+    @Override
+    public Flux<ATSScoreResponse> rankResumes(Long jobDescriptionId, int limit, ATSScorer.Weighting weighting) {
+        if (limit <= 0) {
+            return Flux.error(new IllegalArgumentException("limit must be positive"));
+        }
+        
+        // Worst candidate at the head, so it is the one evicted when a better resume arrives
+        Comparator<RankedResume> worstFirst = Comparator.comparingInt((RankedResume ranked) -> ranked.score)
+            .thenComparing((RankedResume ranked) -> ranked.resume.id, Comparator.reverseOrder());
+        
+        // Ranking bypasses the score cache so a full table scan does not flush it
+        return jobDescriptionRepository.findById(jobDescriptionId)
+            .switchIfEmpty(Mono.error(new RuntimeException("Job description not found")))
+            .map(this::jobDocument)
+            .flatMapMany(job -> {
+                double[] weights = weightsFor(job, weighting);
+                return resumeRepository.findAll()
+                    .limitRate(RANKING_PREFETCH)
+                    .flatMap(this::resumeDocument, RANKING_CONCURRENCY)
+                    .map(resume -> new RankedResume(resume, scorer.scoreValue(resume.resumeTerms(), job.jobTerms(), weights)))
+                    .collect(() -> new PriorityQueue<>(limit + 1, worstFirst), (PriorityQueue<RankedResume> heap, RankedResume ranked) -> {
+                        heap.offer(ranked);
+                        if (heap.size() > limit) {
+                            heap.poll();
+                        }
+                    })
+                    .flatMapIterable(heap -> {
+                        List<RankedResume> ranked = new ArrayList<>(heap);
+                        ranked.sort(worstFirst.reversed());
+                        return ranked;
+                    })
+                    .map(ranked -> score(ranked.resume, job, weights));
+            });
+    }
+    
+    @Override
+    public ATSScoreCache.Stats getCacheStats() {
+        return scoreCache.stats();
+    }
+    
+    /**
+     * Rebuilds the corpus statistics used for BM25 weighting from the stored job descriptions.
+     * A failed scan is discarded and retried; the statistics are only replaced by a complete one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildCorpusStatistics() {
+        Mono.defer(() -> {
+            corpusStatistics.beginRebuild();
+            return jobDescriptionRepository.findMaxId()
+                .doOnNext(corpusStatistics::startRebuild)
+                .flatMapMany(jobDescriptionRepository::findByIdLessThanEqual)
+                .doOnNext(jobDescription -> corpusStatistics.addRebuiltDocument(jobDocument(jobDescription).terms()))
+                .then();
+        })
+        .doOnError(e -> {
+            corpusStatistics.abortRebuild();
+            log.warn("Corpus statistics rebuild failed, keeping the previous statistics: {}", e.getMessage());
+        })
+        .retryWhen(Retry.backoff(CORPUS_REBUILD_RETRIES, CORPUS_REBUILD_BACKOFF))
+        .subscribe(
+            done -> { },
+            e -> log.error("Error rebuilding corpus statistics: {}", e.getMessage(), e),
+            () -> {
+                corpusStatistics.finishRebuild();
+                log.info("Corpus statistics rebuilt from {} job descriptions", corpusStatistics.getDocumentCount());
             });
+    }
+    
+    private ATSScoreResponse cachedScore(ScoringDocument resume, ScoringDocument job, ATSScorer.Weighting weighting) {
+        // Weighted scores also depend on the corpus, so they are versioned by it too
+        long corpusVersion = weighting == ATSScorer.Weighting.BM25 ? corpusStatistics.getVersion() : 0;
+        ATSScoreCache.Key key = new ATSScoreCache.Key(resume.id, resume.version, job.id, job.version, weighting, corpusVersion);
+        ATSScoreResponse cached = scoreCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        ATSScoreResponse response = score(resume, job, weightsFor(job, weighting));
+        scoreCache.put(key, response);
+        return response;
+    }
+    
+    private double[] weightsFor(ScoringDocument job, ATSScorer.Weighting weighting) {
+        return weighting == ATSScorer.Weighting.BM25 ? corpusStatistics.weights(job.terms()) : null;
+    }
+    
+    private ATSScoreResponse score(ScoringDocument resume, ScoringDocument job, double[] weights) {
+        ATSScoreResponse response = scorer.score(resume.resumeTerms(), job.jobTerms(), weights);
+        response.setResumeId(resume.id);
+        response.setJobDescriptionId(job.id);
+        return response;
+    }
+    
+    private ResponseStatusException tooManyIds(String parameter) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+            "Provide at most " + batchMaxIds + " " + parameter);
+    }
+    
+    private static List<Long> distinct(List<Long> ids) {
+        return ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+    }
+    
+    private Mono<ScoringDocument> resumeDocument(Resume resume) {
+        // Use the vector stored at upload time when available
+        if (resume.getTermVector() != null) {
+            return Mono.just(new ScoringDocument(resume.getId(), resume.getTermVector()));
+        }
+        
+        // Resumes stored before term vectors existed are rebuilt from their related entities
+        return Mono.zip(
+            experienceRepository.findByResumeId(resume.getId()).collectList(),
+            projectRepository.findByResumeId(resume.getId()).collectList()
+        )
+        .map(relatedTuple -> {
+            List<String> resumeKeywords = new ArrayList<>(JsonUtil.fromJson(resume.getSkillsJson()));
+            
+            // Add experience bullets
+            relatedTuple.getT1().forEach(exp -> resumeKeywords.addAll(JsonUtil.fromJson(exp.getBulletsJson())));
+            
+            // Add project technologies
+            relatedTuple.getT2().forEach(project -> resumeKeywords.addAll(JsonUtil.fromJson(project.getTechnologiesJson())));
+            
+            return new ScoringDocument(resume.getId(), TermVector.ofTexts(resumeKeywords));
         });
     }
     
-    private ATSScoreResponse.KeywordMatch createKeywordMatch(String keyword, boolean matched, boolean suggested, String category) {
-        ATSScoreResponse.KeywordMatch match = new ATSScoreResponse.KeywordMatch();
-        match.setKeyword(keyword);
-        match.setMatched(matched);
-        match.setSuggested(suggested);
-        match.setCategory(category);
-        return match;
+    private ScoringDocument jobDocument(JobDescription jobDescription) {
+        // Use the vector stored at analysis time when available
+        if (jobDescription.getTermVector() != null) {
+            return new ScoringDocument(jobDescription.getId(), jobDescription.getTermVector());
+        }
+        
+        // Collect job requirements
+        List<String> jobKeywords = new ArrayList<>();
+        jobKeywords.addAll(JsonUtil.fromJson(jobDescription.getRequiredSkillsJson()));
+        jobKeywords.addAll(JsonUtil.fromJson(jobDescription.getKeywordsJson()));
+        jobKeywords.addAll(JsonUtil.fromJson(jobDescription.getTechnologiesJson()));
+        return new ScoringDocument(jobDescription.getId(), TermVector.ofKeywords(jobKeywords));
+    }
+    
+    /**
+     * A resume or job description reduced to its encoded term vector. The version identifies
+     * the content for the score cache; the vector is only decoded and compiled for
+     * matching when a score is actually computed, and then reused for every pair it is part of,
+     * including pairs scored concurrently on the parallel scheduler.
+     * Compiled jobs are also kept in the job terms cache, so later requests for the same job
+     * reuse them.
+     */
+    private class ScoringDocument {
+        final Long id;
+        final String content;
+        final long version;
+        private TermVector terms;
+        private ATSScorer.ResumeTerms resumeTerms;
+        private ATSScorer.JobTerms jobTerms;
+        
+        ScoringDocument(Long id, String content) {
+            this.id = id;
+            this.content = content;
+            this.version = ATSScoreCache.version(content);
+        }
+        
+        ScoringDocument(Long id, TermVector terms) {
+            this(id, terms.encode());
+            this.terms = terms;
+        }
+        
+        synchronized TermVector terms() {
+            if (terms == null) {
+                terms = TermVector.decode(content);
+            }
+            return terms;
+        }
+        
+        synchronized ATSScorer.ResumeTerms resumeTerms() {
+            if (resumeTerms == null) {
+                resumeTerms = scorer.indexResume(terms());
+            }
+            return resumeTerms;
+        }
+        
+        synchronized ATSScorer.JobTerms jobTerms() {
+            if (jobTerms == null) {
+                jobTerms = jobTermsCache.get(id, version, () -> scorer.compileJob(terms()));
+            }
+            return jobTerms;
+        }
+    }
+    
+    private static class RankedResume {
+        final ScoringDocument resume;
+        final int score;
+        
+        RankedResume(ScoringDocument resume, int score) {
+            this.resume = resume;
+            this.score = score;
+        }
     }
 }
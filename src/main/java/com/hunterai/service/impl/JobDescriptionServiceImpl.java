@@ -1,19 +1,45 @@
 package com.hunterai.service.impl;
 
+import com.hunterai.dto.JobDescriptionRefreshStats;
 import com.hunterai.dto.JobDescriptionRequest;
 import com.hunterai.dto.JobDescriptionResponse;
 import com.hunterai.model.JobDescription;
 import com.hunterai.repository.JobDescriptionRepository;
 import com.hunterai.service.JobDescriptionService;
+import com.hunterai.util.ATSScoreCache;
+import com.hunterai.util.CorpusStatistics;
 import com.hunterai.util.JsonUtil;
+import com.hunterai.util.HostGovernor;
 import com.hunterai.util.JobDescriptionScraper;
+import com.hunterai.util.JobTextAnalyzer;
+import com.hunterai.util.PageCache;
+import com.hunterai.util.TermVector;
+import com.hunterai.util.UrlNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Slf4j
 @Service
@@ -21,184 +47,405 @@ import java.util.List;
 public class JobDescriptionServiceImpl implements JobDescriptionService {
     
     private final JobDescriptionRepository repository;
+    private final CorpusStatistics corpusStatistics;
+    private final JobDescriptionScraper jobDescriptionScraper;
+    private final PageCache pageCache;
+    private final HostGovernor hostGovernor;
+    private final JobTextAnalyzer jobTextAnalyzer;
+    private final ATSScoreCache scoreCache;
+    
+    private final ConcurrentHashMap<String, Mono<JobDescriptionResponse>> inFlightScrapes = new ConcurrentHashMap<>();
+    
+    private final LongAdder refreshRuns = new LongAdder();
+    private final LongAdder refreshChecked = new LongAdder();
+    private final LongAdder refreshUnchanged = new LongAdder();
+    private final LongAdder refreshUpdated = new LongAdder();
+    private final LongAdder refreshFailed = new LongAdder();
+    private final LongAdder refreshYielded = new LongAdder();
+    private volatile LocalDateTime lastRefreshRun;
+    
+    @Value("${hunterai.job-descriptions.freshness:PT24H}")
+    private Duration freshness;
+    
+    @Value("${hunterai.job-descriptions.bulk.max-urls:500}")
+    private int bulkMaxUrls;
+    
+    @Value("${hunterai.job-descriptions.bulk.concurrency:8}")
+    private int bulkConcurrency;
+    
+    @Value("${hunterai.job-descriptions.bulk.batch-size:20}")
+    private int bulkBatchSize;
+    
+    @Value("${hunterai.job-descriptions.bulk.batch-delay:PT0.2S}")
+    private Duration bulkBatchDelay;
+    
+    @Value("${hunterai.job-descriptions.refresh.enabled:true}")
+    private boolean refreshEnabled;
+    
+    @Value("${hunterai.job-descriptions.refresh.stale-after:PT24H}")
+    private Duration refreshStaleAfter;
+    
+    @Value("${hunterai.job-descriptions.refresh.batch-size:50}")
+    private int refreshBatchSize;
+    
+    @Value("${hunterai.job-descriptions.refresh.concurrency:2}")
+    private int refreshConcurrency;
     
     @Override
     public Mono<JobDescriptionResponse> analyzeJobDescription(JobDescriptionRequest request) {
-        return Mono.fromCallable(() -> {
-            JobDescription jobDescription = new JobDescription();
-            jobDescription.setUrl(request.getUrl());
-            jobDescription.setCreatedAt(LocalDateTime.now());
-            
-            List<String> requiredSkills;
-            List<String> keywords;
-            List<String> technologies;
-            List<String> softSkills;
-            List<String> responsibilities;
-            
-            // If URL is provided, scrape it
-            if (request.getUrl() != null && !request.getUrl().trim().isEmpty()) {
-                log.info("Scraping job description from URL: {}", request.getUrl());
-                try {
-                    JobDescriptionScraper.ScrapedJobData scrapedData = 
-                        JobDescriptionScraper.scrapeJobDescription(request.getUrl());
-                    
-                    jobDescription.setTitle(scrapedData.title);
-                    jobDescription.setCompany(scrapedData.company);
-                    jobDescription.setDescription(scrapedData.description);
-                    requiredSkills = scrapedData.requiredSkills;
-                    keywords = scrapedData.keywords;
-                    technologies = scrapedData.technologies;
-                    softSkills = scrapedData.softSkills;
-                    responsibilities = scrapedData.responsibilities;
-                    
-                    log.info("Successfully scraped job: {} at {}", scrapedData.title, scrapedData.company);
-                } catch (Exception e) {
-                    log.error("Error scraping job description, falling back to text parsing: {}", e.getMessage());
-                    // Fallback to text parsing if scraping fails
-                    jobDescription.setTitle("Job Position");
-                    jobDescription.setCompany("Company");
-                    jobDescription.setDescription(request.getText() != null ? request.getText() : "");
-                    requiredSkills = extractFromText(request.getText());
-                    keywords = extractKeywordsFromText(request.getText());
-                    technologies = extractTechnologiesFromText(request.getText());
-                    softSkills = extractSoftSkillsFromText(request.getText());
-                    responsibilities = extractResponsibilitiesFromText(request.getText());
-                }
-            } else if (request.getText() != null && !request.getText().trim().isEmpty()) {
-                // Parse from text
-                log.info("Parsing job description from text");
-                jobDescription.setTitle(extractTitleFromText(request.getText()));
-                jobDescription.setCompany(extractCompanyFromText(request.getText()));
-                jobDescription.setDescription(request.getText());
-                requiredSkills = extractFromText(request.getText());
-                keywords = extractKeywordsFromText(request.getText());
-                technologies = extractTechnologiesFromText(request.getText());
-                softSkills = extractSoftSkillsFromText(request.getText());
-                responsibilities = extractResponsibilitiesFromText(request.getText());
-            } else {
-                // Fallback to defaults
-                log.warn("No URL or text provided, using default values");
-                jobDescription.setTitle("Job Position");
-                jobDescription.setCompany("Company");
-                jobDescription.setDescription("");
-                requiredSkills = List.of();
-                keywords = List.of();
-                technologies = List.of();
-                softSkills = List.of();
-                responsibilities = List.of();
-            }
-            
-            // Convert lists to JSON
-            jobDescription.setRequiredSkillsJson(JsonUtil.toJson(requiredSkills));
-            jobDescription.setKeywordsJson(JsonUtil.toJson(keywords));
-            jobDescription.setTechnologiesJson(JsonUtil.toJson(technologies));
-            jobDescription.setSoftSkillsJson(JsonUtil.toJson(softSkills));
-            jobDescription.setResponsibilitiesJson(JsonUtil.toJson(responsibilities));
-            
-            // Set transient fields for mapping
-            jobDescription.setRequiredSkills(requiredSkills);
-            jobDescription.setKeywords(keywords);
-            jobDescription.setTechnologies(technologies);
-            jobDescription.setSoftSkills(softSkills);
-            jobDescription.setResponsibilities(responsibilities);
-            
-            return jobDescription;
-        })
-        .flatMap(repository::save)
-        .map(this::mapToResponse);
+        // If URL is provided, reuse a fresh analysis of the same page or scrape it
+        if (request.getUrl() != null && !request.getUrl().trim().isEmpty()) {
+            String normalizedUrl = UrlNormalizer.normalize(request.getUrl());
+            // Concurrent requests for the same page share one lookup and scrape; if the scrape
+            // fails, all of them get the fallback built from the first request's text
+            return Mono.defer(() -> inFlightScrapes.computeIfAbsent(normalizedUrl, key ->
+                findFresh(key)
+                    .switchIfEmpty(Mono.defer(() -> scrape(request, key)))
+                    .doFinally(signal -> inFlightScrapes.remove(key))
+                    .cache()));
+        }
+        
+        return Mono.fromCallable(() -> fromText(request))
+            .flatMap(this::save);
     }
     
-    private String extractTitleFromText(String text) {
-        // Look for common title patterns
-        String[] patterns = {
-            "Job Title:", "Position:", "Role:", "Title:"
-        };
-        for (String pattern : patterns) {
-            int idx = text.indexOf(pattern);
-            if (idx >= 0) {
-                String title = text.substring(idx + pattern.length()).split("\n")[0].trim();
-                if (title.length() < 100) {
-                    return title;
-                }
-            }
+    private Mono<JobDescriptionResponse> findFresh(String normalizedUrl) {
+        LocalDateTime freshAfter = LocalDateTime.now().minus(freshness);
+        return repository.findFirstByNormalizedUrlOrderByCreatedAtDesc(normalizedUrl)
+            .filter(existing -> lastChecked(existing).isAfter(freshAfter))
+            .doOnNext(existing -> log.info("Reusing job description {} analyzed at {} for {}",
+                existing.getId(), existing.getCreatedAt(), normalizedUrl))
+            .map(this::mapToResponse);
+    }
+    
+    private Mono<JobDescriptionResponse> scrape(JobDescriptionRequest request, String normalizedUrl) {
+        return scrapeToEntity(request, normalizedUrl)
+            .flatMap(this::save);
+    }
+    
+    private Mono<JobDescription> scrapeToEntity(JobDescriptionRequest request, String normalizedUrl) {
+        log.info("Scraping job description from URL: {}", request.getUrl());
+        return jobDescriptionScraper.scrapeJobDescription(request.getUrl())
+            .map(scrapedData -> {
+                log.info("Successfully scraped job: {} at {}", scrapedData.title, scrapedData.company);
+                JobDescription jobDescription = fromScrapedData(request, scrapedData);
+                jobDescription.setNormalizedUrl(normalizedUrl);
+                return jobDescription;
+            })
+            .onErrorResume(e -> {
+                log.error("Error scraping job description, falling back to text parsing: {}", e.getMessage());
+                // Fallback to text parsing if scraping fails
+                return Mono.fromCallable(() -> fromFallbackText(request));
+            });
+    }
+    
+    @Override
+    public Flux<JobDescriptionResponse> analyzeJobDescriptions(List<String> urls) {
+        if (urls == null || urls.isEmpty() || urls.size() > bulkMaxUrls) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Provide between 1 and " + bulkMaxUrls + " URLs"));
         }
-        return "Job Position";
+        return Flux.fromIterable(urls)
+            .filter(url -> url != null && !url.trim().isEmpty())
+            .map(String::trim)
+            .distinct(UrlNormalizer::normalize)
+            // Per-host limits are applied by the scraper's host governor
+            .flatMap(this::bulkItem, bulkConcurrency)
+            .publish(items -> Flux.merge(
+                // Reused and joined analyses are streamed as soon as they are ready
+                items.filter(item -> item.response != null)
+                    .map(item -> item.response),
+                // New analyses are inserted in batches, then streamed
+                items.filter(item -> item.response == null)
+                    .bufferTimeout(bulkBatchSize, bulkBatchDelay)
+                    .concatMap(this::saveBatch)
+                    .doOnDiscard(BulkItem.class, this::abandon)));
     }
     
-    private String extractCompanyFromText(String text) {
-        // Look for company patterns
-        String[] patterns = {
-            "Company:", "Employer:", "Organization:"
-        };
-        for (String pattern : patterns) {
-            int idx = text.indexOf(pattern);
-            if (idx >= 0) {
-                String company = text.substring(idx + pattern.length()).split("\n")[0].trim();
-                if (company.length() < 100) {
-                    return company;
+    private Mono<BulkItem> bulkItem(String url) {
+        String normalizedUrl = UrlNormalizer.normalize(url);
+        return findFresh(normalizedUrl)
+            .map(BulkItem::ready)
+            .switchIfEmpty(Mono.defer(() -> {
+                Sinks.One<JobDescriptionResponse> flight = Sinks.one();
+                Mono<JobDescriptionResponse> flightMono = flight.asMono();
+                Mono<JobDescriptionResponse> existing = inFlightScrapes.putIfAbsent(normalizedUrl, flightMono);
+                if (existing != null) {
+                    // Another request is already scraping this page, share its result
+                    return existing
+                        .map(BulkItem::ready)
+                        .onErrorResume(e -> {
+                            // Scrape it ourselves rather than leave the URL out of the stream
+                            log.warn("Shared scrape of {} failed, scraping it again: {}", normalizedUrl, e.getMessage());
+                            return scrapeItem(new BulkItem(normalizedUrl, null, null), url);
+                        });
                 }
-            }
-        }
-        return "Company";
+                return scrapeItem(new BulkItem(normalizedUrl, flight, flightMono), url);
+            }));
     }
     
-    private List<String> extractFromText(String text) {
-        if (text == null) return List.of();
-        return JobDescriptionScraper.scrapeJobDescription("").requiredSkills; // Use scraper's logic
+    private Mono<BulkItem> scrapeItem(BulkItem item, String url) {
+        return scrapeToEntity(new JobDescriptionRequest(url, null), item.normalizedUrl)
+            .map(jobDescription -> {
+                item.jobDescription = jobDescription;
+                return item;
+            })
+            .doOnCancel(() -> abandon(item));
     }
     
-    private List<String> extractKeywordsFromText(String text) {
-        if (text == null) return List.of();
-        String lower = text.toLowerCase();
-        List<String> keywords = new java.util.ArrayList<>();
-        String[] common = {"full-stack", "remote", "senior", "junior", "agile", "scrum"};
-        for (String kw : common) {
-            if (lower.contains(kw)) {
-                keywords.add(kw);
+    private Flux<JobDescriptionResponse> saveBatch(List<BulkItem> items) {
+        return Flux.defer(() -> {
+            List<JobDescription> jobDescriptions = new ArrayList<>();
+            for (BulkItem item : items) {
+                jobDescriptions.add(item.jobDescription);
             }
+            // Rows come back in item order; on failure, the ones not inserted yet are retried alone
+            List<JobDescriptionResponse> inserted = new ArrayList<>(items.size());
+            return repository.insertAll(jobDescriptions)
+                .doOnNext(saved -> corpusStatistics.addDocument(saved.getId(), TermVector.decode(saved.getTermVector())))
+                .map(this::mapToResponse)
+                .doOnNext(response -> {
+                    // Hand the result to anyone who joined this scrape
+                    complete(items.get(inserted.size()), response);
+                    inserted.add(response);
+                })
+                .onErrorResume(e -> {
+                    log.error("Error saving batch of {} job descriptions, saving the remaining {} one by one: {}",
+                        items.size(), items.size() - inserted.size(), e.getMessage(), e);
+                    return Flux.fromIterable(items.subList(inserted.size(), items.size()))
+                        .concatMap(this::saveBulkItem);
+                })
+                .doOnCancel(() -> items.forEach(this::abandon));
+        });
+    }
+    
+    private Mono<JobDescriptionResponse> saveBulkItem(BulkItem item) {
+        return save(item.jobDescription)
+            .doOnNext(response -> complete(item, response))
+            .onErrorResume(e -> {
+                log.error("Error saving job description for {}: {}", item.normalizedUrl, e.getMessage());
+                fail(item, e);
+                // Stream an error line so the caller can tell the URL failed
+                JobDescriptionResponse failed = new JobDescriptionResponse();
+                failed.setUrl(item.jobDescription.getUrl());
+                failed.setError("Could not save the analysis: " + e.getMessage());
+                return Mono.just(failed);
+            });
+    }
+    
+    private void complete(BulkItem item, JobDescriptionResponse response) {
+        if (item.flight != null) {
+            inFlightScrapes.remove(item.normalizedUrl, item.flightMono);
+            item.flight.tryEmitValue(response);
         }
-        return keywords;
     }
     
-    private List<String> extractTechnologiesFromText(String text) {
-        if (text == null) return List.of();
-        String lower = text.toLowerCase();
-        List<String> techs = new java.util.ArrayList<>();
-        String[] common = {"react", "node.js", "python", "java", "aws", "docker", "kubernetes"};
-        for (String tech : common) {
-            if (lower.contains(tech)) {
-                techs.add(tech);
-            }
+    private void abandon(BulkItem item) {
+        fail(item, new CancellationException("Bulk analysis was cancelled"));
+    }
+    
+    private void fail(BulkItem item, Throwable error) {
+        if (item.flight != null) {
+            inFlightScrapes.remove(item.normalizedUrl, item.flightMono);
+            item.flight.tryEmitError(error);
         }
-        return techs;
     }
     
-    private List<String> extractSoftSkillsFromText(String text) {
-        if (text == null) return List.of();
-        String lower = text.toLowerCase();
-        List<String> skills = new java.util.ArrayList<>();
-        String[] common = {"communication", "teamwork", "leadership", "problem-solving"};
-        for (String skill : common) {
-            if (lower.contains(skill)) {
-                skills.add(skill);
+    private Mono<JobDescriptionResponse> save(JobDescription jobDescription) {
+        return repository.save(jobDescription)
+            .doOnNext(saved -> corpusStatistics.addDocument(saved.getId(), TermVector.decode(saved.getTermVector())))
+            .map(this::mapToResponse);
+    }
+    
+    private static LocalDateTime lastChecked(JobDescription jobDescription) {
+        return jobDescription.getRefreshedAt() != null ? jobDescription.getRefreshedAt() : jobDescription.getCreatedAt();
+    }
+    
+    /**
+     * Re-scrapes stale analyses of scraped pages in the background. Pages attached to open job
+     * applications go first. Fetches are conditional and use the scraper's lowest priority; a run
+     * stops early while interactive scrapes are in flight and the rest waits for the next run.
+     * Rows are rewritten only when the extracted content changed.
+     */
+    @Scheduled(
+        initialDelayString = "${hunterai.job-descriptions.refresh.initial-delay:PT1M}",
+        fixedDelayString = "${hunterai.job-descriptions.refresh.interval:PT15M}")
+    public Mono<Void> refreshStaleJobDescriptions() {
+        // Subscribed again on every run, so the cut-off must be computed per subscription
+        return Mono.defer(() -> {
+            if (!refreshEnabled) {
+                return Mono.empty();
             }
+            LocalDateTime staleBefore = LocalDateTime.now().minus(refreshStaleAfter);
+            return repository.findStale(staleBefore, refreshBatchSize)
+                // Read the whole batch first so no database cursor stays open while pages are fetched
+                .collectList()
+                .flatMapMany(Flux::fromIterable)
+                .takeWhile(stale -> {
+                    if (inFlightScrapes.isEmpty()) {
+                        return true;
+                    }
+                    refreshYielded.increment();
+                    return false;
+                })
+                .flatMap(this::refresh, refreshConcurrency)
+                .onErrorResume(e -> {
+                    log.error("Error refreshing stale job descriptions: {}", e.getMessage(), e);
+                    return Mono.empty();
+                })
+                .doFinally(signal -> {
+                    refreshRuns.increment();
+                    lastRefreshRun = LocalDateTime.now();
+                })
+                .then();
+        });
+    }
+    
+    private Mono<Void> refresh(JobDescription stale) {
+        refreshChecked.increment();
+        LocalDateTime refreshedAt = LocalDateTime.now();
+        String previousHash = stale.getContentHash();
+        TermVector previousTerms = TermVector.decode(stale.getTermVector());
+        
+        return jobDescriptionScraper.refreshJobDescription(stale.getUrl())
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(scrapedData -> {
+                if (scrapedData.isPresent()) {
+                    applyScrapedData(stale, scrapedData.get());
+                }
+                if (scrapedData.isEmpty() || Objects.equals(previousHash, stale.getContentHash())) {
+                    // Not modified, or re-rendered with the same content
+                    refreshUnchanged.increment();
+                    return repository.markRefreshed(stale.getId(), refreshedAt).then();
+                }
+                stale.setRefreshedAt(refreshedAt);
+                return repository.save(stale)
+                    .doOnNext(saved -> {
+                        corpusStatistics.replaceDocument(previousTerms, TermVector.decode(saved.getTermVector()));
+                        scoreCache.invalidateJobDescription(saved.getId());
+                        refreshUpdated.increment();
+                        log.info("Job description {} changed since it was last checked: {}", saved.getId(), saved.getUrl());
+                    })
+                    .then();
+            })
+            .onErrorResume(e -> {
+                refreshFailed.increment();
+                if (e.getCause() instanceof WebClientResponseException responseException
+                    && responseException.getStatusCode().is4xxClientError()
+                    && responseException.getStatusCode().value() != 429) {
+                    // Removed or moved posting, do not ask again before it is stale again
+                    log.info("Job description {} is no longer available ({}): {}",
+                        stale.getId(), responseException.getStatusCode().value(), stale.getUrl());
+                    return repository.markRefreshed(stale.getId(), refreshedAt).then();
+                }
+                log.debug("Could not refresh job description {}: {}", stale.getId(), e.getMessage());
+                return Mono.empty();
+            });
+    }
+    
+    private JobDescription fromScrapedData(JobDescriptionRequest request, JobDescriptionScraper.ScrapedJobData scrapedData) {
+        return applyScrapedData(newJobDescription(request), scrapedData);
+    }
+    
+    private JobDescription applyScrapedData(JobDescription jobDescription, JobDescriptionScraper.ScrapedJobData scrapedData) {
+        jobDescription.setTitle(scrapedData.title);
+        jobDescription.setCompany(scrapedData.company);
+        jobDescription.setDescription(scrapedData.description);
+        return withExtractedData(jobDescription,
+            scrapedData.requiredSkills,
+            scrapedData.keywords,
+            scrapedData.technologies,
+            scrapedData.softSkills,
+            scrapedData.responsibilities);
+    }
+    
+    private JobDescription fromFallbackText(JobDescriptionRequest request) {
+        JobDescription jobDescription = newJobDescription(request);
+        jobDescription.setTitle("Job Position");
+        jobDescription.setCompany("Company");
+        jobDescription.setDescription(request.getText() != null ? request.getText() : "");
+        JobTextAnalyzer.Analysis analysis = jobTextAnalyzer.analyze(request.getText());
+        return withAnalysis(jobDescription, analysis);
+    }
+    
+    private JobDescription fromText(JobDescriptionRequest request) {
+        JobDescription jobDescription = newJobDescription(request);
+        if (request.getText() != null && !request.getText().trim().isEmpty()) {
+            // Parse from text, in memory
+            log.debug("Parsing job description from text");
+            JobTextAnalyzer.Analysis analysis = jobTextAnalyzer.analyze(request.getText());
+            jobDescription.setTitle(analysis.title);
+            jobDescription.setCompany(analysis.company);
+            jobDescription.setDescription(request.getText());
+            return withAnalysis(jobDescription, analysis);
         }
-        return skills;
+        
+        // Fallback to defaults
+        log.warn("No URL or text provided, using default values");
+        jobDescription.setTitle("Job Position");
+        jobDescription.setCompany("Company");
+        jobDescription.setDescription("");
+        return withExtractedData(jobDescription, List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+    
+    private JobDescription newJobDescription(JobDescriptionRequest request) {
+        JobDescription jobDescription = new JobDescription();
+        jobDescription.setUrl(request.getUrl());
+        jobDescription.setCreatedAt(LocalDateTime.now());
+        return jobDescription;
+    }
+    
+    private JobDescription withAnalysis(JobDescription jobDescription, JobTextAnalyzer.Analysis analysis) {
+        return withExtractedData(jobDescription,
+            analysis.tags.skills,
+            analysis.tags.keywords,
+            analysis.tags.technologies,
+            analysis.tags.softSkills,
+            analysis.responsibilities);
+    }
+    
+    private JobDescription withExtractedData(JobDescription jobDescription,
+                                             List<String> requiredSkills,
+                                             List<String> keywords,
+                                             List<String> technologies,
+                                             List<String> softSkills,
+                                             List<String> responsibilities) {
+        // Convert lists to JSON
+        jobDescription.setRequiredSkillsJson(JsonUtil.toJson(requiredSkills));
+        jobDescription.setKeywordsJson(JsonUtil.toJson(keywords));
+        jobDescription.setTechnologiesJson(JsonUtil.toJson(technologies));
+        jobDescription.setSoftSkillsJson(JsonUtil.toJson(softSkills));
+        jobDescription.setResponsibilitiesJson(JsonUtil.toJson(responsibilities));
+        
+        // Set transient fields for mapping
+        jobDescription.setRequiredSkills(requiredSkills);
+        jobDescription.setKeywords(keywords);
+        jobDescription.setTechnologies(technologies);
+        jobDescription.setSoftSkills(softSkills);
+        jobDescription.setResponsibilities(responsibilities);
+        
+        // Compute the term vector used for scoring once, at ingest time
+        List<String> jobKeywords = new ArrayList<>(requiredSkills);
+        jobKeywords.addAll(keywords);
+        jobKeywords.addAll(technologies);
+        jobDescription.setTermVector(TermVector.ofKeywords(jobKeywords).encode());
+        jobDescription.setContentHash(contentHash(jobDescription));
+        
+        return jobDescription;
     }
     
-    private List<String> extractResponsibilitiesFromText(String text) {
-        if (text == null) return List.of();
-        List<String> responsibilities = new java.util.ArrayList<>();
-        String[] lines = text.split("\n");
-        for (String line : lines) {
-            line = line.trim();
-            if ((line.startsWith("-") || line.startsWith("•") || line.matches("^\\d+[.)]\\s.*")) 
-                && line.length() > 10 && line.length() < 200) {
-                responsibilities.add(line.replaceFirst("^[-•]\\s*", "").replaceFirst("^\\d+[.)]\\s*", ""));
-                if (responsibilities.size() >= 10) break;
+    private static String contentHash(JobDescription jobDescription) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[] {jobDescription.getTitle(), jobDescription.getCompany(), jobDescription.getDescription()}) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
             }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return responsibilities;
     }
     
     @Override
@@ -208,6 +455,35 @@ public class JobDescriptionServiceImpl implements JobDescriptionService {
             .map(this::mapToResponse);
     }
     
+    @Override
+    public PageCache.Stats getPageCacheStats() {
+        return pageCache.stats();
+    }
+    
+    @Override
+    public List<HostGovernor.HostStats> getHostStats() {
+        return hostGovernor.stats();
+    }
+    
+    @Override
+    public List<JobDescriptionScraper.ExtractionStats> getExtractionStats() {
+        return jobDescriptionScraper.extractionStats();
+    }
+    
+    @Override
+    public JobDescriptionRefreshStats getRefreshStats() {
+        return new JobDescriptionRefreshStats(
+            refreshEnabled,
+            refreshRuns.sum(),
+            refreshChecked.sum(),
+            refreshUnchanged.sum(),
+            refreshUpdated.sum(),
+            refreshFailed.sum(),
+            refreshYielded.sum(),
+            lastRefreshRun
+        );
+    }
+    
     private JobDescriptionResponse mapToResponse(JobDescription jobDescription) {
         JobDescriptionResponse response = new JobDescriptionResponse();
         response.setId(jobDescription.getId());
@@ -253,5 +529,34 @@ public class JobDescriptionServiceImpl implements JobDescriptionService {
         
         return response;
     }
+    
+    /**
+     * One URL of a bulk request: either an analysis that is ready as is, or a scraped job
+     * description waiting to be inserted, together with the flight other requests may have joined.
+     */
+    private static class BulkItem {
+        final String normalizedUrl;
+        final JobDescriptionResponse response;
+        final Sinks.One<JobDescriptionResponse> flight;
+        final Mono<JobDescriptionResponse> flightMono;
+        JobDescription jobDescription;
+        
+        BulkItem(String normalizedUrl, Sinks.One<JobDescriptionResponse> flight, Mono<JobDescriptionResponse> flightMono) {
+            this.normalizedUrl = normalizedUrl;
+            this.response = null;
+            this.flight = flight;
+            this.flightMono = flightMono;
+        }
+        
+        private BulkItem(JobDescriptionResponse response) {
+            this.normalizedUrl = null;
+            this.response = response;
+            this.flight = null;
+            this.flightMono = null;
+        }
+        
+        static BulkItem ready(JobDescriptionResponse response) {
+            return new BulkItem(response);
+        }
+    }
 }
-
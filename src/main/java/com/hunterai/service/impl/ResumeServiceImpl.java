@@ -8,17 +8,31 @@ import com.hunterai.repository.ExperienceRepository;
 import com.hunterai.repository.ProjectRepository;
 import com.hunterai.repository.ResumeRepository;
 import com.hunterai.service.ResumeService;
+import com.hunterai.util.DocxTextExtractor;
 import com.hunterai.util.JsonUtil;
+import com.hunterai.util.PdfTextExtractor;
 import com.hunterai.util.ResumeParser;
+import com.hunterai.util.TermVector;
+import com.hunterai.util.WorkerPool;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,89 +43,43 @@ public class ResumeServiceImpl implements ResumeService {
     private final ResumeRepository resumeRepository;
     private final ExperienceRepository experienceRepository;
     private final ProjectRepository projectRepository;
+    private final WorkerPool resumeParsePool;
+    private final PdfTextExtractor pdfTextExtractor;
+    private final DocxTextExtractor docxTextExtractor;
+    
+    @Value("${hunterai.resumes.temp-directory:${java.io.tmpdir}/hunterai-resumes}")
+    private String tempDirectory;
     
     @Override
-    public Mono<ResumeResponse> uploadResume(MultipartFile file) {
-        log.info("Parsing resume file: {}", file.getOriginalFilename());
+    public Mono<ResumeResponse> uploadResume(FilePart file) {
+        String fileName = file.filename();
+        log.info("Parsing resume file: {}", fileName);
         
-        return Mono.fromCallable(() -> {
-            try {
-                return ResumeParser.parseResume(file.getInputStream(), file.getOriginalFilename());
-            } catch (Exception e) {
-                log.error("Error parsing resume file: {}", e.getMessage(), e);
-                throw new RuntimeException("Failed to parse resume: " + e.getMessage(), e);
-            }
-        })
-        .flatMap(parsedResume -> {
-            Resume resume = new Resume();
-            resume.setName(file.getOriginalFilename());
-            resume.setVersion("1.0");
-            resume.setCreatedAt(LocalDateTime.now());
-            
-            // Set summary
-            resume.setSummary(parsedResume.summary != null && !parsedResume.summary.isEmpty() 
-                ? parsedResume.summary 
-                : "Professional seeking new opportunities.");
-            
-            // Convert skills to JSON
-            resume.setSkillsJson(JsonUtil.toJson(
-                parsedResume.skills != null && !parsedResume.skills.isEmpty() 
-                    ? parsedResume.skills 
-                    : new ArrayList<>()
-            ));
-            
-            // Save resume first
-            return resumeRepository.save(resume)
-                .flatMap(savedResume -> {
-                    // Save experiences
-                    Flux<Experience> experiencesFlux = Flux.fromIterable(
-                        parsedResume.experiences != null ? parsedResume.experiences : new ArrayList<>()
-                    )
-                    .map(expData -> {
-                        Experience experience = new Experience();
-                        experience.setResumeId(savedResume.getId());
-                        experience.setRole(expData.role != null ? expData.role : "Position");
-                        experience.setCompany(expData.company != null ? expData.company : "Company");
-                        experience.setDuration(expData.duration != null ? expData.duration : "");
-                        experience.setBulletsJson(JsonUtil.toJson(
-                            expData.bullets != null ? expData.bullets : new ArrayList<>()
-                        ));
-                        return experience;
-                    })
-                    .flatMap(experienceRepository::save);
-                    
-                    // Save projects
-                    Flux<Project> projectsFlux = Flux.fromIterable(
-                        parsedResume.projects != null ? parsedResume.projects : new ArrayList<>()
-                    )
-                    .map(projData -> {
-                        Project project = new Project();
-                        project.setResumeId(savedResume.getId());
-                        project.setName(projData.name != null ? projData.name : "Project");
-                        project.setDescription(projData.description != null ? projData.description : "");
-                        project.setTechnologiesJson(JsonUtil.toJson(
-                            projData.technologies != null ? projData.technologies : new ArrayList<>()
-                        ));
-                        return project;
-                    })
-                    .flatMap(projectRepository::save);
-                    
-                    // Wait for all related entities to be saved, then return the resume
-                    return Flux.concat(experiencesFlux, projectsFlux)
-                        .then(Mono.just(savedResume));
-                })
-                .flatMap(this::loadResumeWithRelations)
-                .map(this::mapToResponse);
-        })
+        // Spool the upload to a temp file so parsers read from disk instead of a byte array,
+        // hashing it on the way so a re-upload of the same file reuses the stored parse
+        return Mono.usingWhen(
+            Mono.fromCallable(() -> Files.createTempFile(Files.createDirectories(Path.of(tempDirectory)), "upload-", ".tmp"))
+                .subscribeOn(resumeParsePool.getScheduler()),
+            spooled -> spool(file, spooled)
+                .flatMap(contentHash -> resumeRepository.findFirstByContentHashOrderByIdDesc(contentHash)
+                    .doOnNext(existing -> log.info("Resume file {} matches resume {}, reusing its parse", fileName, existing.getId()))
+                    .switchIfEmpty(Mono.defer(() -> parseResume(spooled, fileName)
+                        .flatMap(parsedResume -> saveParsedResume(parsedResume, fileName, contentHash))))),
+            spooled -> Mono.fromRunnable(() -> deleteSpooled(spooled))
+                .subscribeOn(resumeParsePool.getScheduler())
+        )
+        .flatMap(this::loadResumeWithRelations)
+        .map(this::mapToResponse)
         .onErrorResume(e -> {
             log.error("Error processing resume: {}", e.getMessage(), e);
             // Return a basic resume with error message
             Resume errorResume = new Resume();
-            errorResume.setName(file.getOriginalFilename());
+            errorResume.setName(fileName);
             errorResume.setVersion("1.0");
             errorResume.setCreatedAt(LocalDateTime.now());
             errorResume.setSummary("Unable to parse resume. Please ensure the file is a valid PDF or DOCX format.");
             errorResume.setSkillsJson("[]");
+            errorResume.setTermVector(TermVector.empty().encode());
             
             return resumeRepository.save(errorResume)
                 .flatMap(this::loadResumeWithRelations)
@@ -119,6 +87,96 @@ public class ResumeServiceImpl implements ResumeService {
         });
     }
     
+    private Mono<String> spool(FilePart file, Path spooled) {
+        return Mono.defer(() -> {
+            MessageDigest digest = sha256();
+            Flux<DataBuffer> content = file.content().doOnNext(buffer -> {
+                try (DataBuffer.ByteBufferIterator buffers = buffer.readableByteBuffers()) {
+                    buffers.forEachRemaining(digest::update);
+                }
+            });
+            return DataBufferUtils.write(content, spooled)
+                .then(Mono.fromCallable(() -> HexFormat.of().formatHex(digest.digest())));
+        });
+    }
+    
+    private Mono<ResumeParser.ParsedResume> parseResume(Path spooled, String fileName) {
+        return Mono.fromCallable(() -> {
+            try {
+                return ResumeParser.parseResume(spooled, fileName, pdfTextExtractor, docxTextExtractor);
+            } catch (Exception e) {
+                log.error("Error parsing resume file: {}", e.getMessage(), e);
+                throw new RuntimeException("Failed to parse resume: " + e.getMessage(), e);
+            }
+        })
+        // PDFBox/POI parsing is blocking and CPU-heavy, keep it off the request thread
+        .subscribeOn(resumeParsePool.getScheduler());
+    }
+    
+    private Mono<Resume> saveParsedResume(ResumeParser.ParsedResume parsedResume, String fileName, String contentHash) {
+        Resume resume = new Resume();
+        resume.setName(fileName);
+        resume.setVersion("1.0");
+        resume.setCreatedAt(LocalDateTime.now());
+        resume.setContentHash(contentHash);
+        
+        // Set summary
+        resume.setSummary(parsedResume.summary != null && !parsedResume.summary.isEmpty() 
+            ? parsedResume.summary 
+            : "Professional seeking new opportunities.");
+        
+        // Convert skills to JSON
+        resume.setSkillsJson(JsonUtil.toJson(
+            parsedResume.skills != null && !parsedResume.skills.isEmpty() 
+                ? parsedResume.skills 
+                : new ArrayList<>()
+        ));
+        
+        // Compute the term vector used for scoring once, at ingest time
+        resume.setTermVector(buildTermVector(parsedResume).encode());
+        
+        // Save resume first
+        return resumeRepository.save(resume)
+            .flatMap(savedResume -> {
+                // Save experiences
+                Flux<Experience> experiencesFlux = Flux.fromIterable(
+                    parsedResume.experiences != null ? parsedResume.experiences : new ArrayList<>()
+                )
+                .map(expData -> {
+                    Experience experience = new Experience();
+                    experience.setResumeId(savedResume.getId());
+                    experience.setRole(expData.role != null ? expData.role : "Position");
+                    experience.setCompany(expData.company != null ? expData.company : "Company");
+                    experience.setDuration(expData.duration != null ? expData.duration : "");
+                    experience.setBulletsJson(JsonUtil.toJson(
+                        expData.bullets != null ? expData.bullets : new ArrayList<>()
+                    ));
+                    return experience;
+                })
+                .flatMap(experienceRepository::save);
+                
+                // Save projects
+                Flux<Project> projectsFlux = Flux.fromIterable(
+                    parsedResume.projects != null ? parsedResume.projects : new ArrayList<>()
+                )
+                .map(projData -> {
+                    Project project = new Project();
+                    project.setResumeId(savedResume.getId());
+                    project.setName(projData.name != null ? projData.name : "Project");
+                    project.setDescription(projData.description != null ? projData.description : "");
+                    project.setTechnologiesJson(JsonUtil.toJson(
+                        projData.technologies != null ? projData.technologies : new ArrayList<>()
+                    ));
+                    return project;
+                })
+                .flatMap(projectRepository::save);
+                
+                // Wait for all related entities to be saved, then return the resume
+                return Flux.concat(experiencesFlux, projectsFlux)
+                    .then(Mono.just(savedResume));
+            });
+    }
+    
     @Override
     public Mono<ResumeResponse> getResume(Long id) {
         return resumeRepository.findById(id)
@@ -138,6 +196,40 @@ public class ResumeServiceImpl implements ResumeService {
             });
     }
     
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private void deleteSpooled(Path spooled) {
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}: {}", spooled, e.getMessage());
+        }
+    }
+    
+    private TermVector buildTermVector(ResumeParser.ParsedResume parsedResume) {
+        List<String> texts = new ArrayList<>();
+        if (parsedResume.skills != null) {
+            texts.addAll(parsedResume.skills);
+        }
+        if (parsedResume.experiences != null) {
+            parsedResume.experiences.stream()
+                .filter(expData -> expData.bullets != null)
+                .forEach(expData -> texts.addAll(expData.bullets));
+        }
+        if (parsedResume.projects != null) {
+            parsedResume.projects.stream()
+                .filter(projData -> projData.technologies != null)
+                .forEach(projData -> texts.addAll(projData.technologies));
+        }
+        return TermVector.ofTexts(texts);
+    }
+    
     private Mono<Resume> loadResumeWithRelations(Resume resume) {
         return Mono.zip(
             experienceRepository.findByResumeId(resume.getId()).collectList(),
@@ -0,0 +1,166 @@
+package com.hunterai.util;
+
+import com.hunterai.dto.ATSScoreResponse;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * LRU cache of ATS scores with a time-to-live, keyed by the (resume, job description) pair
+ * and the content version of each side.
+ *
+ * Versions are hashes of the term vectors the score was computed from, so a changed resume
+ * aggregate or job description simply stops hitting its old entries. A job description that
+ * is re-scraped with new content also drops its entries eagerly through
+ * {@link #invalidateJobDescription(Long)}.
+ *
+ * Responses are mutable, so the cache stores a copy and hands every caller its own copy.
+ */
+public class ATSScoreCache {
+    
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    
+    public ATSScoreCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+    
+    public ATSScoreResponse get(Key key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.createdAt > ttlNanos) {
+                entries.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return copy(entry.response);
+        }
+    }
+    
+    public void put(Key key, ATSScoreResponse response) {
+        if (maxEntries <= 0) return;
+        synchronized (entries) {
+            entries.put(key, new Entry(copy(response), System.nanoTime()));
+            Iterator<Key> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+    
+    private static ATSScoreResponse copy(ATSScoreResponse response) {
+        return new ATSScoreResponse(
+            response.getResumeId(),
+            response.getJobDescriptionId(),
+            response.getScore(),
+            copy(response.getMatchedKeywords()),
+            copy(response.getMissingKeywords()),
+            copy(response.getSuggestedKeywords())
+        );
+    }
+    
+    private static List<ATSScoreResponse.KeywordMatch> copy(List<ATSScoreResponse.KeywordMatch> keywords) {
+        if (keywords == null) {
+            return null;
+        }
+        List<ATSScoreResponse.KeywordMatch> copies = new ArrayList<>(keywords.size());
+        for (ATSScoreResponse.KeywordMatch keyword : keywords) {
+            copies.add(new ATSScoreResponse.KeywordMatch(
+                keyword.getKeyword(), keyword.isMatched(), keyword.isSuggested(), keyword.getCategory()));
+        }
+        return copies;
+    }
+    
+    public void invalidateJobDescription(Long jobDescriptionId) {
+        removeIf(key -> key.jobDescriptionId.equals(jobDescriptionId));
+    }
+    
+    public void clear() {
+        removeIf(key -> true);
+    }
+    
+    private void removeIf(Predicate<Key> predicate) {
+        synchronized (entries) {
+            Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (predicate.test(keys.next())) {
+                    keys.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+    
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(size, maxEntries, hits.sum(), misses.sum(),
+            evictions.sum(), expirations.sum(), invalidations.sum());
+    }
+    
+    /**
+     * 64-bit FNV-1a hash of the content a score was computed from.
+     */
+    public static long version(String content) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < content.length(); i++) {
+            hash ^= content.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    @Value
+    public static class Key {
+        Long resumeId;
+        long resumeVersion;
+        Long jobDescriptionId;
+        long jobDescriptionVersion;
+        ATSScorer.Weighting weighting;
+        long corpusVersion;
+    }
+    
+    @Value
+    public static class Stats {
+        int size;
+        int maxEntries;
+        long hits;
+        long misses;
+        long evictions;
+        long expirations;
+        long invalidations;
+    }
+    
+    private static class Entry {
+        final ATSScoreResponse response;
+        final long createdAt;
+        
+        Entry(ATSScoreResponse response, long createdAt) {
+            this.response = response;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.hunterai.util;
+
+import com.hunterai.dto.ATSScoreResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Scores a resume against a job description from their stored term vectors.
+ * Free of Spring and database access so it can be exercised on its own.
+ *
+ * Each job description gets a matcher compiled over its own keywords only, so the cost of
+ * matching depends on the job being scored and not on how many job descriptions were ever
+ * ingested. A resume is scanned once per job it is scored against; the bitset of job keywords
+ * found in it is kept for the last job, so computing the score and the keyword lists of the
+ * same pair scans it once.
+ */
+public class ATSScorer {
+    
+    /**
+     * Compiles a matcher over the job keywords.
+     */
+    public JobTerms compileJob(TermVector jobTerms) {
+        List<String> keywords = new ArrayList<>(jobTerms.size());
+        boolean unitFrequencies = true;
+        for (int i = 0; i < jobTerms.size(); i++) {
+            keywords.add(TermVector.normalize(jobTerms.getTerms().get(i)));
+            unitFrequencies &= jobTerms.frequency(i) == 1;
+        }
+        return new JobTerms(jobTerms, KeywordMatcher.compile(keywords), unitFrequencies);
+    }
+    
+    public ResumeTerms indexResume(TermVector resumeTerms) {
+        return new ResumeTerms(resumeTerms);
+    }
+    
+    /**
+     * Computes only the numeric score, without building keyword lists.
+     *
+     * @param weights per-term weights in job vector order, or null to weigh every listed keyword equally
+     */
+    public int scoreValue(ResumeTerms resume, JobTerms job, double[] weights) {
+        TermBitSet found = matches(resume, job);
+        int size = job.vector.size();
+        if (weights == null && job.unitFrequencies) {
+            return size == 0 ? 0 : (found.cardinality() * 100) / size;
+        }
+        
+        double total = 0;
+        double matched = 0;
+        for (int i = 0; i < size; i++) {
+            double weight = weights != null ? weights[i] : job.vector.frequency(i);
+            total += weight;
+            if (found.get(i)) matched += weight;
+        }
+        return total <= 0 ? 0 : (int) (matched * 100 / total);
+    }
+    
+    public ATSScoreResponse score(TermVector resumeTerms, TermVector jobTerms) {
+        JobTerms job = compileJob(jobTerms);
+        return score(indexResume(resumeTerms), job, null);
+    }
+    
+    /**
+     * @param weights per-term weights in job vector order, or null to weigh every listed keyword equally
+     */
+    public ATSScoreResponse score(ResumeTerms resume, JobTerms job, double[] weights) {
+        TermBitSet found = matches(resume, job);
+        
+        // Expand by frequency so repeated job keywords weigh as often as they were listed
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        List<String> terms = job.vector.getTerms();
+        for (int i = 0; i < terms.size(); i++) {
+            List<String> target = found.get(i) ? matched : missing;
+            for (int n = 0; n < job.vector.frequency(i); n++) {
+                target.add(terms.get(i));
+            }
+        }
+        
+        ATSScoreResponse response = new ATSScoreResponse();
+        response.setScore(scoreValue(resume, job, weights));
+        response.setMatchedKeywords(matched.stream()
+            .map(kw -> createKeywordMatch(kw, true, false, "keyword"))
+            .collect(Collectors.toList()));
+        response.setMissingKeywords(missing.stream()
+            .map(kw -> createKeywordMatch(kw, false, false, "keyword"))
+            .collect(Collectors.toList()));
+        response.setSuggestedKeywords(Arrays.asList(
+            createKeywordMatch("REST APIs", false, true, "skill"),
+            createKeywordMatch("agile", false, true, "keyword")
+        ));
+        return response;
+    }
+    
+    /**
+     * Positions, in job vector order, of the job keywords found in the resume.
+     */
+    private TermBitSet matches(ResumeTerms resume, JobTerms job) {
+        JobMatch last = resume.lastMatch;
+        if (last != null && last.job == job) {
+            return last.found;
+        }
+        TermBitSet found = TermBitSet.of(job.matcher.findMatches(resume.vector.getTerms()));
+        resume.lastMatch = new JobMatch(job, found);
+        return found;
+    }
+    
+    public enum Weighting {
+        UNIFORM,
+        BM25
+    }
+    
+    public static class JobTerms {
+        final TermVector vector;
+        final KeywordMatcher matcher;
+        final boolean unitFrequencies;
+        
+        JobTerms(TermVector vector, KeywordMatcher matcher, boolean unitFrequencies) {
+            this.vector = vector;
+            this.matcher = matcher;
+            this.unitFrequencies = unitFrequencies;
+        }
+    }
+    
+    public static class ResumeTerms {
+        final TermVector vector;
+        // Last job matched, shared by threads scoring the same resume, so replaced whole
+        volatile JobMatch lastMatch;
+        
+        ResumeTerms(TermVector vector) {
+            this.vector = vector;
+        }
+    }
+    
+    private static class JobMatch {
+        final JobTerms job;
+        final TermBitSet found;
+        
+        JobMatch(JobTerms job, TermBitSet found) {
+            this.job = job;
+            this.found = found;
+        }
+    }
+    
+    private static ATSScoreResponse.KeywordMatch createKeywordMatch(String keyword, boolean matched, boolean suggested, String category) {
+        ATSScoreResponse.KeywordMatch match = new ATSScoreResponse.KeywordMatch();
+        match.setKeyword(keyword);
+        match.setMatched(matched);
+        match.setSuggested(suggested);
+        match.setCategory(category);
+        return match;
+    }
+}
@@ -0,0 +1,177 @@
+package com.hunterai.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Document frequencies of job description terms across all stored job descriptions, used
+ * to weight keywords with BM25 so rare, decisive skills count more than common ones.
+ *
+ * Frequencies live in an int array indexed by {@link TermDictionary} ID and are updated
+ * incrementally as job descriptions are saved. At startup the statistics are rebuilt from
+ * the database into a separate set of counts, published only when the scan completes, so a
+ * failed rebuild never leaves weights computed from part of the corpus. Documents saved while
+ * the scan runs are counted in both and reconciled by ID so none is counted twice.
+ */
+public class CorpusStatistics {
+    
+    private static final double K1 = 1.2;
+    
+    private final TermDictionary dictionary;
+    
+    // Guarded by this
+    private Counts counts = new Counts(64);
+    private Counts rebuilt;
+    private long version;
+    private boolean loading = true;
+    private long loadedThroughId = -1;
+    private final List<PendingDocument> pending = new ArrayList<>();
+    
+    public CorpusStatistics(TermDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+    
+    /**
+     * Counts a newly saved job description.
+     */
+    public synchronized void addDocument(Long id, TermVector terms) {
+        apply(counts, terms, 1);
+        version++;
+        if (loading) {
+            if (loadedThroughId < 0) {
+                // The rebuild has not decided which IDs it covers yet
+                pending.add(new PendingDocument(id, terms));
+            } else if (id == null || id > loadedThroughId) {
+                // Not covered by the rebuild scan
+                apply(rebuilt, terms, 1);
+            }
+        }
+    }
+    
+    /**
+     * Replaces the counts of a job description whose content changed.
+     */
+    public synchronized void replaceDocument(TermVector previous, TermVector current) {
+        apply(counts, previous, -1);
+        apply(counts, current, 1);
+        if (rebuilt != null) {
+            apply(rebuilt, previous, -1);
+            apply(rebuilt, current, 1);
+        }
+        version++;
+    }
+    
+    /**
+     * Starts a rebuild. Until it finishes, the current statistics stay in use.
+     */
+    public synchronized void beginRebuild() {
+        loading = true;
+        loadedThroughId = -1;
+        rebuilt = null;
+        // Anything saved before this point is already counted and will be found by the scan
+        pending.clear();
+    }
+    
+    /**
+     * Fixes the highest ID covered by the rebuild scan. Documents saved in the meantime with a
+     * higher ID are counted now; the rest are left to the scan.
+     */
+    public synchronized void startRebuild(long throughId) {
+        rebuilt = new Counts(Math.max(64, dictionary.size()));
+        loadedThroughId = throughId;
+        for (PendingDocument document : pending) {
+            if (document.id == null || document.id > throughId) {
+                apply(rebuilt, document.terms, 1);
+            }
+        }
+        pending.clear();
+    }
+    
+    public synchronized void addRebuiltDocument(TermVector terms) {
+        apply(rebuilt, terms, 1);
+    }
+    
+    /**
+     * Publishes the rebuilt statistics.
+     */
+    public synchronized void finishRebuild() {
+        if (rebuilt != null) {
+            counts = rebuilt;
+            version++;
+        }
+        endRebuild();
+    }
+    
+    /**
+     * Discards a failed rebuild and keeps the current statistics.
+     */
+    public synchronized void abortRebuild() {
+        endRebuild();
+    }
+    
+    private void endRebuild() {
+        rebuilt = null;
+        loading = false;
+        loadedThroughId = -1;
+        pending.clear();
+    }
+    
+    /**
+     * BM25 weights for each term of the given job description vector, in vector order.
+     */
+    public synchronized double[] weights(TermVector jobTerms) {
+        double[] weights = new double[jobTerms.size()];
+        for (int i = 0; i < weights.length; i++) {
+            int id = dictionary.idOf(jobTerms.getTerms().get(i));
+            int df = id >= 0 && id < counts.documentFrequencies.length ? counts.documentFrequencies[id] : 0;
+            double idf = Math.log(1 + (counts.documentCount - df + 0.5) / (df + 0.5));
+            int tf = jobTerms.frequency(i);
+            weights[i] = idf * (tf * (K1 + 1)) / (tf + K1);
+        }
+        return weights;
+    }
+    
+    public synchronized int getDocumentCount() {
+        return counts.documentCount;
+    }
+    
+    /**
+     * Incremented on every change, so scores derived from these statistics can be versioned.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+    
+    private void apply(Counts target, TermVector terms, int delta) {
+        // Terms of a vector are already distinct by normalized form, so each ID is seen once
+        for (String term : terms.getTerms()) {
+            int id = dictionary.intern(term);
+            if (id >= target.documentFrequencies.length) {
+                target.documentFrequencies = Arrays.copyOf(target.documentFrequencies,
+                    Math.max(id + 1, target.documentFrequencies.length * 2));
+            }
+            target.documentFrequencies[id] = Math.max(0, target.documentFrequencies[id] + delta);
+        }
+        target.documentCount += delta;
+    }
+    
+    private static class Counts {
+        int[] documentFrequencies;
+        int documentCount;
+        
+        Counts(int capacity) {
+            this.documentFrequencies = new int[capacity];
+        }
+    }
+    
+    private static class PendingDocument {
+        final Long id;
+        final TermVector terms;
+        
+        PendingDocument(Long id, TermVector terms) {
+            this.id = id;
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.hunterai.util;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Extracts the text of a DOCX by streaming its main part, {@code word/document.xml}, through a
+ * SAX parser instead of building the POI object model.
+ *
+ * Every paragraph becomes one line, including paragraphs in table cells and text boxes, so
+ * skills that templates lay out in tables are kept. Fallback copies of drawing content are
+ * skipped so text boxes are not read twice. The parser rejects DTDs and external entities,
+ * and both the uncompressed size of the part and the extracted text are capped, so a
+ * malicious archive costs no more than those limits.
+ */
+public class DocxTextExtractor {
+    
+    private static final String MAIN_PART = "word/document.xml";
+    private static final String WORDPROCESSING_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String MARKUP_COMPATIBILITY_NS = "http://schemas.openxmlformats.org/markup-compatibility/2006";
+    
+    private final int maxChars;
+    private final long maxXmlBytes;
+    private final SAXParserFactory factory;
+    
+    public DocxTextExtractor(int maxChars, long maxXmlBytes) {
+        this.maxChars = maxChars;
+        this.maxXmlBytes = maxXmlBytes;
+        try {
+            factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setXIncludeAware(false);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("Could not configure a secure SAX parser", e);
+        }
+    }
+    
+    public String extract(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry entry = zip.getEntry(MAIN_PART);
+            if (entry == null) {
+                throw new IOException("Not a DOCX document, " + MAIN_PART + " is missing");
+            }
+            TextHandler handler = new TextHandler();
+            try (InputStream in = new LimitedInputStream(zip.getInputStream(entry), maxXmlBytes)) {
+                SAXParser parser = factory.newSAXParser();
+                parser.parse(in, handler);
+            } catch (TextLimitReached e) {
+                // Enough text, the rest of the document is not read
+            } catch (ParserConfigurationException | SAXException e) {
+                throw new IOException("Malformed DOCX document: " + e.getMessage(), e);
+            }
+            return handler.text.toString();
+        }
+    }
+    
+    private class TextHandler extends DefaultHandler {
+        
+        private final StringBuilder text = new StringBuilder();
+        // Text boxes nest paragraphs inside paragraphs
+        private final Deque<StringBuilder> paragraphs = new ArrayDeque<>();
+        private boolean inText;
+        private int fallbackDepth;
+        // Paragraph properties define tab stops with w:tab elements of their own
+        private int propertiesDepth;
+        
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (MARKUP_COMPATIBILITY_NS.equals(uri) && localName.equals("Fallback")) {
+                fallbackDepth++;
+            }
+            if (fallbackDepth > 0 || !WORDPROCESSING_NS.equals(uri)) {
+                return;
+            }
+            switch (localName) {
+                case "p" -> paragraphs.push(new StringBuilder());
+                case "pPr" -> propertiesDepth++;
+                case "t" -> inText = true;
+                case "tab" -> append('\t');
+                case "br", "cr" -> append('\n');
+                default -> {
+                }
+            }
+        }
+        
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (MARKUP_COMPATIBILITY_NS.equals(uri) && localName.equals("Fallback")) {
+                fallbackDepth--;
+                return;
+            }
+            if (fallbackDepth > 0 || !WORDPROCESSING_NS.equals(uri)) {
+                return;
+            }
+            if (localName.equals("pPr")) {
+                propertiesDepth--;
+            } else if (localName.equals("t")) {
+                inText = false;
+            } else if (localName.equals("p") && !paragraphs.isEmpty()) {
+                text.append(paragraphs.pop()).append('\n');
+                if (text.length() >= maxChars) {
+                    text.setLength(maxChars);
+                    throw new TextLimitReached();
+                }
+            }
+        }
+        
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText && fallbackDepth == 0 && !paragraphs.isEmpty()) {
+                paragraphs.peek().append(ch, start, length);
+            }
+        }
+        
+        private void append(char c) {
+            if (propertiesDepth == 0 && !paragraphs.isEmpty()) {
+                paragraphs.peek().append(c);
+            }
+        }
+    }
+    
+    private static class TextLimitReached extends SAXException {
+        TextLimitReached() {
+            super("Text limit reached");
+        }
+    }
+    
+    /**
+     * Fails once more than {@code limit} bytes are read, guarding against zip bombs.
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        
+        private long remaining;
+        
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+        
+        private void count(int read) throws IOException {
+            remaining -= read;
+            if (remaining < 0) {
+                throw new IOException("DOCX document is larger than the allowed uncompressed size");
+            }
+        }
+    }
+}
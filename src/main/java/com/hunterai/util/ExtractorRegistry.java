@@ -0,0 +1,229 @@
+package com.hunterai.util;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+
+/**
+ * Per-domain CSS selectors for the title, company and description of a job page, parsed
+ * once into Jsoup {@link Evaluator}s.
+ *
+ * Domain rules also apply to subdomains (ca.indeed.com uses the indeed.com rules) and are
+ * followed by generic selectors. For every host the registry remembers which selector last
+ * produced a value and tries it first on the next page, so a typical page from a known host
+ * is resolved with one DOM query per field.
+ */
+public class ExtractorRegistry {
+    
+    public enum Field {
+        TITLE,
+        COMPANY,
+        DESCRIPTION
+    }
+    
+    private final Map<String, Map<Field, List<Selector>>> domainSelectors = new ConcurrentHashMap<>();
+    private final Map<Field, List<Selector>> genericSelectors = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, HostProfile> hosts = new ConcurrentHashMap<>();
+    
+    /**
+     * Registry with the selectors of the common job boards and the generic fallbacks.
+     */
+    public static ExtractorRegistry defaults() {
+        ExtractorRegistry registry = new ExtractorRegistry();
+        
+        registry.domain("linkedin.com", "h1.job-title", ".job-details__main-content", ".description__text");
+        registry.domain("indeed.com", "h2.jobTitle", "#jobDescriptionText", ".jobsearch-jobDescriptionText");
+        registry.domain("glassdoor.com", "h2.jobTitle", ".jobDescriptionContent", ".desc");
+        registry.domain("monster.com", "h1.title", "#JobDescription", ".job-details");
+        registry.domain("ziprecruiter.com", "h1.job_title", "#job_description", ".job_description");
+        
+        registry.generic(Field.TITLE, 0, 200,
+            "h1.job-title", "h1.title", "h2.jobTitle",
+            "h1[class*='job']", "h1[class*='title']",
+            "meta[property='og:title']", "title");
+        registry.generic(Field.COMPANY, 0, 100,
+            ".company", "[class*='company']", "[class*='employer']",
+            "meta[property='og:site_name']");
+        registry.generic(Field.DESCRIPTION, 100, Integer.MAX_VALUE,
+            "#jobDescriptionText", ".job-description", ".description",
+            "[class*='description']", "[id*='description']",
+            "main", "article", ".content");
+        return registry;
+    }
+    
+    /**
+     * Registers a job board by its title selector and the selectors of its description
+     * container. Company names use the shared job board company selectors.
+     */
+    public void domain(String domain, String titleSelector, String... descriptionSelectors) {
+        Map<Field, List<Selector>> selectors = new EnumMap<>(Field.class);
+        selectors.put(Field.TITLE, List.of(new Selector(titleSelector, 0, Integer.MAX_VALUE, false)));
+        selectors.put(Field.COMPANY, compile(0, Integer.MAX_VALUE, false,
+            ".company-name", ".employer", "[class*='company']",
+            "a[href*='company']", ".job-company"));
+        selectors.put(Field.DESCRIPTION, compile(0, Integer.MAX_VALUE, true, descriptionSelectors));
+        domainSelectors.put(domain.toLowerCase(Locale.ROOT), selectors);
+        hosts.clear();
+    }
+    
+    /**
+     * Registers generic selectors tried after the domain ones. Values must be shorter than
+     * {@code maxLength} and, except for meta tags, longer than {@code minLength}.
+     */
+    public void generic(Field field, int minLength, int maxLength, String... selectors) {
+        genericSelectors.put(field, compile(minLength, maxLength, false, selectors));
+        hosts.clear();
+    }
+    
+    /**
+     * Extracts the field from the page, or returns null when no selector matches.
+     */
+    public String extract(Document doc, String host, Field field) {
+        HostProfile profile = hosts.computeIfAbsent(normalizeHost(host), this::profile);
+        List<Selector> candidates = profile.candidates.get(field);
+        
+        // Try the selector that worked last time for this host first, then all in order
+        int preferred = profile.lastMatches.get(field.ordinal());
+        if (preferred >= 0) {
+            String value = candidates.get(preferred).extract(doc);
+            if (value != null) {
+                return value;
+            }
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            if (i == preferred) {
+                continue;
+            }
+            String value = candidates.get(i).extract(doc);
+            if (value != null) {
+                profile.lastMatches.set(field.ordinal(), i);
+                return value;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * The selector each field of the host was last resolved with, for diagnostics.
+     */
+    public Map<Field, String> preferredSelectors(String host) {
+        Map<Field, String> preferred = new EnumMap<>(Field.class);
+        HostProfile profile = hosts.get(normalizeHost(host));
+        if (profile != null) {
+            for (Field field : Field.values()) {
+                int index = profile.lastMatches.get(field.ordinal());
+                if (index >= 0) {
+                    preferred.put(field, profile.candidates.get(field).get(index).css);
+                }
+            }
+        }
+        return preferred;
+    }
+    
+    private HostProfile profile(String host) {
+        Map<Field, List<Selector>> domain = domainRules(host);
+        Map<Field, List<Selector>> candidates = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            List<Selector> fieldCandidates = new ArrayList<>();
+            if (domain != null) {
+                fieldCandidates.addAll(domain.getOrDefault(field, List.of()));
+            }
+            fieldCandidates.addAll(genericSelectors.getOrDefault(field, List.of()));
+            candidates.put(field, List.copyOf(fieldCandidates));
+        }
+        return new HostProfile(candidates);
+    }
+    
+    private Map<Field, List<Selector>> domainRules(String host) {
+        // ca.indeed.com -> indeed.com -> com
+        String candidate = host;
+        while (!candidate.isEmpty()) {
+            Map<Field, List<Selector>> rules = domainSelectors.get(candidate);
+            if (rules != null) {
+                return rules;
+            }
+            int dot = candidate.indexOf('.');
+            if (dot < 0) {
+                break;
+            }
+            candidate = candidate.substring(dot + 1);
+        }
+        return null;
+    }
+    
+    private static String normalizeHost(String host) {
+        String normalized = host == null ? "" : host.toLowerCase(Locale.ROOT);
+        return normalized.startsWith("www.") ? normalized.substring(4) : normalized;
+    }
+    
+    private static List<Selector> compile(int minLength, int maxLength, boolean joinAll, String... selectors) {
+        List<Selector> compiled = new ArrayList<>();
+        for (String selector : selectors) {
+            compiled.add(new Selector(selector, minLength, maxLength, joinAll));
+        }
+        return List.copyOf(compiled);
+    }
+    
+    /**
+     * Selectors that apply to one host, in order, and the index of the last one that matched.
+     */
+    private static class HostProfile {
+        final Map<Field, List<Selector>> candidates;
+        final AtomicIntegerArray lastMatches = new AtomicIntegerArray(Field.values().length);
+        
+        HostProfile(Map<Field, List<Selector>> candidates) {
+            this.candidates = candidates;
+            for (int i = 0; i < lastMatches.length(); i++) {
+                lastMatches.set(i, -1);
+            }
+        }
+    }
+    
+    private static class Selector {
+        final String css;
+        final Evaluator evaluator;
+        final boolean meta;
+        final int minLength;
+        final int maxLength;
+        final boolean joinAll;
+        
+        Selector(String css, int minLength, int maxLength, boolean joinAll) {
+            this.css = css;
+            this.evaluator = QueryParser.parse(css);
+            this.meta = css.startsWith("meta");
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            this.joinAll = joinAll;
+        }
+        
+        String extract(Document doc) {
+            if (joinAll) {
+                // Job board containers: all matching blocks form the description
+                Elements elements = doc.select(evaluator);
+                return elements.isEmpty() ? null : elements.stream()
+                    .map(Element::text)
+                    .collect(Collectors.joining("\n\n"));
+            }
+            Element element = doc.selectFirst(evaluator);
+            if (element == null) {
+                return null;
+            }
+            String text = (meta ? element.attr("content") : element.text()).trim();
+            if (text.isEmpty() || text.length() >= maxLength || (!meta && text.length() <= minLength)) {
+                return null;
+            }
+            return text;
+        }
+    }
+}
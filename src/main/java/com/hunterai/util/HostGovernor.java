@@ -0,0 +1,386 @@
+package com.hunterai.util;
+
+import lombok.Value;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-host admission control for outgoing fetches.
+ *
+ * Each host gets a token bucket limiting the request rate, a cap on concurrent requests and
+ * a circuit breaker. Callers wait (without blocking a thread) for a permit up to a maximum
+ * time. After a run of consecutive failures the breaker opens and requests to that host fail
+ * immediately until a cool-down has passed; then a single trial request decides whether it
+ * closes again.
+ *
+ * Background requests (see {@link #acquireBackground(String)}) have the lowest priority: they
+ * only get a permit while the host's circuit is closed, no interactive request is waiting or
+ * running against it and a token stays in reserve, so they never delay interactive fetches.
+ *
+ * A host's state is dropped once it has been idle for the eviction period with a full bucket,
+ * nothing running or queued and either a closed circuit or one whose open duration has run out,
+ * so hosts seen once in a bulk request do not accumulate. Idle states are swept on
+ * access at most once per period.
+ */
+public class HostGovernor {
+    
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int backgroundTokenReserve;
+    private final long idleEvictionNanos;
+    
+    private final ConcurrentHashMap<String, HostState> hosts = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    
+    public HostGovernor(double permitsPerSecond, int burst, int maxConcurrent, Duration maxWait,
+                        int failureThreshold, Duration openDuration, Duration idleEviction) {
+        this.permitsPerSecond = Math.max(0.001, permitsPerSecond);
+        this.burst = Math.max(1, burst);
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxWait = maxWait;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.backgroundTokenReserve = Math.min(1, this.burst - 1);
+        this.idleEvictionNanos = idleEviction.toNanos();
+    }
+    
+    /**
+     * Waits for a permit to fetch from the host. Fails with {@link HostUnavailableException}
+     * when the host's circuit is open or no permit became available within the maximum wait.
+     * The permit must be released exactly once through one of its methods.
+     */
+    public Mono<Permit> acquire(String host) {
+        return acquire(host, false);
+    }
+    
+    /**
+     * Like {@link #acquire(String)}, for work nobody is waiting for. Fails right away while the
+     * host's circuit is not closed.
+     */
+    public Mono<Permit> acquireBackground(String host) {
+        return acquire(host, true);
+    }
+    
+    private Mono<Permit> acquire(String host, boolean background) {
+        return Mono.defer(() -> {
+            sweepIfDue();
+            // Touched inside compute, so a sweep cannot evict the state between lookup and use
+            HostState state = hosts.compute(normalizeHost(host), (key, existing) -> {
+                HostState touched = existing != null ? existing : new HostState(key);
+                touched.lastUsed = System.nanoTime();
+                return touched;
+            });
+            return state.acquire(background)
+                .timeout(maxWait)
+                .onErrorMap(TimeoutException.class, e -> {
+                    state.timedOut();
+                    return new HostUnavailableException("No fetch slot for " + state.host + " within " + maxWait);
+                });
+        });
+    }
+    
+    private void sweepIfDue() {
+        long now = System.nanoTime();
+        long last = lastSweep.get();
+        if (now - last < idleEvictionNanos || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        for (String host : hosts.keySet()) {
+            hosts.computeIfPresent(host, (key, state) -> state.evictable(now) ? null : state);
+        }
+    }
+    
+    public List<HostStats> stats() {
+        List<HostStats> stats = new ArrayList<>();
+        for (HostState state : hosts.values()) {
+            stats.add(state.stats());
+        }
+        stats.sort(Comparator.comparing(HostStats::getHost));
+        return stats;
+    }
+    
+    private static String normalizeHost(String host) {
+        String normalized = host == null ? "" : host.toLowerCase(Locale.ROOT);
+        return normalized.startsWith("www.") ? normalized.substring(4) : normalized;
+    }
+    
+    public enum CircuitState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+    
+    private class HostState {
+        final String host;
+        
+        // Guarded by this
+        final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        final ArrayDeque<Waiter> backgroundWaiters = new ArrayDeque<>();
+        double tokens = burst;
+        long lastRefill = System.nanoTime();
+        int active;
+        boolean drainScheduled;
+        CircuitState circuit = CircuitState.CLOSED;
+        long openedAt;
+        boolean trialInFlight;
+        int consecutiveFailures;
+        long granted;
+        long succeeded;
+        long failed;
+        long rejected;
+        long timedOut;
+        // Written and read inside the map's compute functions
+        long lastUsed;
+        
+        HostState(String host) {
+            this.host = host;
+        }
+        
+        Mono<Permit> acquire(boolean background) {
+            return Mono.create(sink -> {
+                Waiter waiter = new Waiter(sink);
+                ArrayDeque<Waiter> queue = background ? backgroundWaiters : waiters;
+                sink.onCancel(() -> {
+                    synchronized (this) {
+                        waiter.cancelled = true;
+                        queue.remove(waiter);
+                    }
+                });
+                synchronized (this) {
+                    if (isOpen() || (background && circuit != CircuitState.CLOSED)) {
+                        rejected++;
+                        sink.error(new HostUnavailableException("Circuit open for " + host));
+                        return;
+                    }
+                    queue.add(waiter);
+                }
+                drain();
+            });
+        }
+        
+        void drain() {
+            List<Waiter> ready = new ArrayList<>();
+            synchronized (this) {
+                drainScheduled = false;
+                refill();
+                while (!waiters.isEmpty() && active < maxConcurrent && tokens >= 1) {
+                    if (circuit == CircuitState.HALF_OPEN && trialInFlight) {
+                        break;
+                    }
+                    Waiter waiter = waiters.poll();
+                    if (waiter.cancelled) {
+                        continue;
+                    }
+                    if (circuit == CircuitState.HALF_OPEN) {
+                        trialInFlight = true;
+                    }
+                    tokens -= 1;
+                    active++;
+                    granted++;
+                    ready.add(waiter);
+                }
+                // Background requests only run on an idle host and leave tokens in reserve
+                while (waiters.isEmpty() && !backgroundWaiters.isEmpty() && active == 0
+                    && circuit == CircuitState.CLOSED && tokens >= 1 + backgroundTokenReserve) {
+                    Waiter waiter = backgroundWaiters.poll();
+                    if (waiter.cancelled) {
+                        continue;
+                    }
+                    tokens -= 1;
+                    active++;
+                    granted++;
+                    ready.add(waiter);
+                }
+                
+                double tokensNeeded = 0;
+                if (!waiters.isEmpty() && active < maxConcurrent) {
+                    tokensNeeded = 1;
+                } else if (waiters.isEmpty() && !backgroundWaiters.isEmpty() && active == 0) {
+                    tokensNeeded = 1 + backgroundTokenReserve;
+                }
+                if (tokens < tokensNeeded && !drainScheduled) {
+                    // Out of tokens: come back when the next one has accrued
+                    long delayNanos = (long) Math.ceil((tokensNeeded - tokens) / permitsPerSecond * 1_000_000_000L);
+                    drainScheduled = true;
+                    Schedulers.parallel().schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            // Complete outside the lock, subscribers continue synchronously
+            for (Waiter waiter : ready) {
+                Permit permit = new Permit(this);
+                waiter.sink.success(permit);
+                synchronized (this) {
+                    if (!waiter.cancelled) {
+                        continue;
+                    }
+                }
+                // Cancelled while being granted, the permit may never have been delivered
+                permit.release();
+            }
+        }
+        
+        void release(Boolean healthy) {
+            List<Waiter> failedFast = new ArrayList<>();
+            synchronized (this) {
+                active--;
+                if (healthy != null && healthy) {
+                    succeeded++;
+                    consecutiveFailures = 0;
+                    circuit = CircuitState.CLOSED;
+                    trialInFlight = false;
+                } else if (healthy != null) {
+                    failed++;
+                    consecutiveFailures++;
+                    if (circuit == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                        circuit = CircuitState.OPEN;
+                        openedAt = System.nanoTime();
+                        trialInFlight = false;
+                        failedFast.addAll(waiters);
+                        failedFast.addAll(backgroundWaiters);
+                        waiters.clear();
+                        backgroundWaiters.clear();
+                        rejected += failedFast.size();
+                    }
+                } else if (circuit == CircuitState.HALF_OPEN) {
+                    // The trial was cancelled without an outcome, let the next request try
+                    trialInFlight = false;
+                }
+            }
+            for (Waiter waiter : failedFast) {
+                waiter.sink.error(new HostUnavailableException("Circuit open for " + host));
+            }
+            drain();
+        }
+        
+        synchronized void timedOut() {
+            timedOut++;
+        }
+        
+        synchronized boolean evictable(long now) {
+            if (now - lastUsed < idleEvictionNanos || active > 0 || drainScheduled
+                || !waiters.isEmpty() || !backgroundWaiters.isEmpty()) {
+                return false;
+            }
+            refill();
+            if (tokens < burst) {
+                return false;
+            }
+            // Once its open duration has run out a circuit would only admit a trial request anyway
+            return circuit == CircuitState.CLOSED && consecutiveFailures == 0
+                || circuit != CircuitState.CLOSED && !trialInFlight && now - openedAt >= openNanos;
+        }
+        
+        // Caller holds the lock
+        private boolean isOpen() {
+            if (circuit == CircuitState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                circuit = CircuitState.HALF_OPEN;
+            }
+            return circuit == CircuitState.OPEN;
+        }
+        
+        // Caller holds the lock
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefill) / 1_000_000_000.0 * permitsPerSecond);
+            lastRefill = now;
+        }
+        
+        synchronized HostStats stats() {
+            isOpen();
+            refill();
+            return new HostStats(
+                host,
+                circuit,
+                active,
+                waiters.size(),
+                backgroundWaiters.size(),
+                tokens,
+                consecutiveFailures,
+                granted,
+                succeeded,
+                failed,
+                rejected,
+                timedOut
+            );
+        }
+    }
+    
+    private static class Waiter {
+        final MonoSink<Permit> sink;
+        boolean cancelled; // guarded by the host state
+        
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+    
+    /**
+     * Right to run one request against a host. Report how it went so the circuit breaker can
+     * track the host's health; use {@link #release()} when the outcome says nothing about it.
+     */
+    public static class Permit {
+        private final HostState state;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private Permit(HostState state) {
+            this.state = state;
+        }
+        
+        public void success() {
+            release(true);
+        }
+        
+        public void failure() {
+            release(false);
+        }
+        
+        public void release() {
+            release(null);
+        }
+        
+        private void release(Boolean healthy) {
+            if (released.compareAndSet(false, true)) {
+                state.release(healthy);
+            }
+        }
+    }
+    
+    public static class HostUnavailableException extends RuntimeException {
+        public HostUnavailableException(String message) {
+            super(message);
+        }
+    }
+    
+    @Value
+    public static class HostStats {
+        String host;
+        CircuitState circuit;
+        int active;
+        int queued;
+        int backgroundQueued;
+        double availableTokens;
+        int consecutiveFailures;
+        long granted;
+        long succeeded;
+        long failed;
+        long rejected;
+        long timedOut;
+    }
+}
@@ -0,0 +1,84 @@
+package com.hunterai.util;
+
+/**
+ * Removes markup that never carries job content before a page is parsed into a DOM.
+ *
+ * Script, style, noscript and svg elements and HTML comments are cut out of the raw HTML in
+ * a single scan, so Jsoup neither builds nodes for them nor copies their text. Structured data
+ * (JSON-LD) has to be read from the page before it is stripped.
+ */
+public class HtmlStripper {
+    
+    private static final String[] STRIPPED_ELEMENTS = {"script", "style", "noscript", "svg"};
+    
+    public static String strip(String html) {
+        StringBuilder stripped = null;
+        int copied = 0;
+        int position = 0;
+        
+        while ((position = html.indexOf('<', position)) >= 0) {
+            int end = -1;
+            if (html.startsWith("<!--", position)) {
+                int close = html.indexOf("-->", position + 4);
+                end = close < 0 ? html.length() : close + 3;
+            } else {
+                String element = strippedElementAt(html, position);
+                if (element != null) {
+                    int openEnd = html.indexOf('>', position);
+                    if (openEnd < 0) {
+                        end = html.length();
+                    } else if (html.charAt(openEnd - 1) == '/') {
+                        // Self-closing, e.g. <svg ... />
+                        end = openEnd + 1;
+                    } else {
+                        end = closingTagEnd(html, openEnd + 1, element);
+                    }
+                }
+            }
+            
+            if (end < 0) {
+                position++;
+                continue;
+            }
+            if (stripped == null) {
+                stripped = new StringBuilder(html.length());
+            }
+            stripped.append(html, copied, position);
+            copied = end;
+            position = end;
+        }
+        
+        if (stripped == null) {
+            return html;
+        }
+        return stripped.append(html, copied, html.length()).toString();
+    }
+    
+    private static String strippedElementAt(String html, int position) {
+        for (String element : STRIPPED_ELEMENTS) {
+            int nameEnd = position + 1 + element.length();
+            if (html.regionMatches(true, position + 1, element, 0, element.length())
+                && nameEnd < html.length() && isNameEnd(html.charAt(nameEnd))) {
+                return element;
+            }
+        }
+        return null;
+    }
+    
+    private static int closingTagEnd(String html, int from, String element) {
+        int position = from;
+        while ((position = html.indexOf("</", position)) >= 0) {
+            if (html.regionMatches(true, position + 2, element, 0, element.length())) {
+                int close = html.indexOf('>', position);
+                return close < 0 ? html.length() : close + 1;
+            }
+            position += 2;
+        }
+        // Unclosed element, drop the rest of the page like a browser would
+        return html.length();
+    }
+    
+    private static boolean isNameEnd(char c) {
+        return c == '>' || c == '/' || Character.isWhitespace(c);
+    }
+}
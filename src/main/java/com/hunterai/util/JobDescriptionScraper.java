@@ -1,307 +1,283 @@
 package com.hunterai.util;
 
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Fetches job postings with a non-blocking {@link WebClient} and extracts their content.
+ * Network I/O stays on the client's event loop; only the Jsoup parse and extraction, and
+ * reads and writes of the {@link PageCache}, run on the given parse scheduler.
+ *
+ * Pages that embed a schema.org JobPosting are read from that block without building a DOM;
+ * only the others are stripped of scripts, styles and other non-content markup, parsed and
+ * run through the selectors of the {@link ExtractorRegistry}.
+ *
+ * Memory per scrape is bounded: bodies are cut off after a maximum number of bytes and
+ * descriptions after a maximum number of characters.
+ */
 @Slf4j
 public class JobDescriptionScraper {
     
-    private static final int TIMEOUT = 10000; // 10 seconds
     private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
     
-    // Common job board selectors
-    private static final Map<String, String[]> JOB_BOARD_SELECTORS = Map.of(
-        "linkedin.com", new String[]{"h1.job-title", ".job-details__main-content", ".description__text"},
-        "indeed.com", new String[]{"h2.jobTitle", "#jobDescriptionText", ".jobsearch-jobDescriptionText"},
-        "glassdoor.com", new String[]{"h2.jobTitle", ".jobDescriptionContent", ".desc"},
-        "monster.com", new String[]{"h1.title", "#JobDescription", ".job-details"},
-        "ziprecruiter.com", new String[]{"h1.job_title", "#job_description", ".job_description"}
-    );
+    private final WebClient webClient;
+    private final Scheduler parseScheduler;
+    private final Duration timeout;
+    private final PageCache pageCache;
+    private final HostGovernor hostGovernor;
+    private final ExtractorRegistry extractors;
+    private final SkillTaxonomy taxonomy;
+    private final long maxBodyBytes;
+    private final int maxDescriptionLength;
     
-    public static ScrapedJobData scrapeJobDescription(String url) {
-        try {
-            log.info("Scraping job description from: {}", url);
-            
-            // Fetch the webpage
-            Document doc = Jsoup.connect(url)
-                .userAgent(USER_AGENT)
-                .timeout(TIMEOUT)
-                .followRedirects(true)
-                .get();
-            
-            // Extract basic info
-            String title = extractTitle(doc, url);
-            String company = extractCompany(doc, url);
-            String description = extractDescription(doc, url);
-            
-            // Extract structured data from description
-            List<String> requiredSkills = extractSkills(description);
-            List<String> technologies = extractTechnologies(description);
-            List<String> keywords = extractKeywords(description);
-            List<String> softSkills = extractSoftSkills(description);
-            List<String> responsibilities = extractResponsibilities(description);
-            
-            log.info("Successfully scraped job: {} at {}", title, company);
-            
-            return new ScrapedJobData(
-                title,
-                company,
-                description,
-                requiredSkills,
-                technologies,
-                keywords,
-                softSkills,
-                responsibilities
-            );
-            
-        } catch (IOException e) {
-            log.error("Error scraping job description from {}: {}", url, e.getMessage(), e);
-            throw new RuntimeException("Failed to scrape job description: " + e.getMessage(), e);
-        }
+    private final ConcurrentHashMap<String, ExtractionCounter> extractionCounters = new ConcurrentHashMap<>();
+    
+    public JobDescriptionScraper(WebClient webClient, Scheduler parseScheduler, Duration timeout,
+                                 PageCache pageCache, HostGovernor hostGovernor, ExtractorRegistry extractors,
+                                 SkillTaxonomy taxonomy, long maxBodyBytes, int maxDescriptionLength) {
+        this.webClient = webClient;
+        this.parseScheduler = parseScheduler;
+        this.timeout = timeout;
+        this.pageCache = pageCache;
+        this.hostGovernor = hostGovernor;
+        this.extractors = extractors;
+        this.taxonomy = taxonomy;
+        this.maxBodyBytes = maxBodyBytes;
+        this.maxDescriptionLength = maxDescriptionLength;
     }
     
-    private static String extractTitle(Document doc, String url) {
-        // Try job board specific selectors
-        String domain = getDomain(url);
-        if (JOB_BOARD_SELECTORS.containsKey(domain)) {
-            String[] selectors = JOB_BOARD_SELECTORS.get(domain);
-            for (String selector : selectors) {
-                Element element = doc.selectFirst(selector);
-                if (element != null && !element.text().trim().isEmpty()) {
-                    return element.text().trim();
-                }
-            }
-        }
-        
-        // Fallback to common selectors
-        String[] commonSelectors = {
-            "h1.job-title", "h1.title", "h2.jobTitle", 
-            "h1[class*='job']", "h1[class*='title']",
-            "meta[property='og:title']", "title"
-        };
-        
-        for (String selector : commonSelectors) {
-            Element element = doc.selectFirst(selector);
-            if (element != null) {
-                String text = selector.startsWith("meta") 
-                    ? element.attr("content")
-                    : element.text();
-                if (!text.trim().isEmpty() && text.length() < 200) {
-                    return text.trim();
-                }
-            }
-        }
-        
-        return "Job Position";
+    public Mono<ScrapedJobData> scrapeJobDescription(String url) {
+        return scrape(url, false);
+    }
+    
+    /**
+     * Re-fetches a previously scraped page in the background, at the lowest priority of its
+     * host's governor. Completes empty when the origin confirms the cached copy is unchanged.
+     */
+    public Mono<ScrapedJobData> refreshJobDescription(String url) {
+        return scrape(url, true);
     }
     
-    private static String extractCompany(Document doc, String url) {
-        // Try job board specific selectors
-        String domain = getDomain(url);
-        if (JOB_BOARD_SELECTORS.containsKey(domain)) {
-            String[] selectors = {
-                ".company-name", ".employer", "[class*='company']",
-                "a[href*='company']", ".job-company"
-            };
-            for (String selector : selectors) {
-                Element element = doc.selectFirst(selector);
-                if (element != null && !element.text().trim().isEmpty()) {
-                    return element.text().trim();
+    private Mono<ScrapedJobData> scrape(String url, boolean refresh) {
+        return Mono.defer(() -> {
+                if (refresh) {
+                    log.debug("Refreshing job description from: {}", url);
+                } else {
+                    log.info("Scraping job description from: {}", url);
                 }
-            }
-        }
-        
-        // Fallback to common selectors
-        String[] commonSelectors = {
-            ".company", "[class*='company']", "[class*='employer']",
-            "meta[property='og:site_name']"
-        };
-        
-        for (String selector : commonSelectors) {
-            Element element = doc.selectFirst(selector);
-            if (element != null) {
-                String text = selector.startsWith("meta")
-                    ? element.attr("content")
-                    : element.text();
-                if (!text.trim().isEmpty() && text.length() < 100) {
-                    return text.trim();
+                String host = URI.create(url).getHost();
+                if (host == null) {
+                    return Mono.error(new IllegalArgumentException("Not an absolute URL: " + url));
                 }
-            }
+                String normalizedUrl = UrlNormalizer.normalize(url);
+                
+                // Wait for the host's governor, then report how the fetch went to its circuit breaker
+                return (refresh ? hostGovernor.acquireBackground(host) : hostGovernor.acquire(host))
+                    .flatMap(permit -> fetch(url, normalizedUrl, pageCache.lookup(normalizedUrl), refresh)
+                        .timeout(timeout)
+                        .doOnSuccess(html -> permit.success())
+                        .doOnError(e -> {
+                            if (isHostFailure(e)) {
+                                permit.failure();
+                            } else {
+                                permit.release();
+                            }
+                        })
+                        .doOnCancel(permit::release));
+            })
+            .publishOn(parseScheduler)
+            .map(html -> parse(html, url))
+            .doOnError(e -> {
+                if (e instanceof HostGovernor.HostUnavailableException) {
+                    log.warn("Skipping fetch of {}: {}", url, e.getMessage());
+                } else {
+                    log.error("Error scraping job description from {}: {}", url, e.getMessage(), e);
+                }
+            })
+            .onErrorMap(e -> new RuntimeException("Failed to scrape job description: " + e.getMessage(), e));
+    }
+    
+    /**
+     * Whether an error says the host is unhealthy, as opposed to a problem with this one page.
+     */
+    private static boolean isHostFailure(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status >= 500;
         }
-        
-        return "Company";
+        // Timeouts and connection errors
+        return true;
     }
     
-    private static String extractDescription(Document doc, String url) {
-        // Try job board specific selectors
-        String domain = getDomain(url);
-        if (JOB_BOARD_SELECTORS.containsKey(domain)) {
-            String[] selectors = JOB_BOARD_SELECTORS.get(domain);
-            for (int i = 1; i < selectors.length; i++) {
-                Elements elements = doc.select(selectors[i]);
-                if (!elements.isEmpty()) {
-                    return elements.stream()
-                        .map(Element::text)
-                        .collect(Collectors.joining("\n\n"));
+    /**
+     * Fetches the page, revalidating a cached copy with a conditional request when there is one.
+     * A confirmed cached copy is read back, or skipped with an empty result if {@code emptyIfNotModified}.
+     */
+    private Mono<String> fetch(String url, String normalizedUrl, PageCache.Entry cached, boolean emptyIfNotModified) {
+        return webClient.get()
+            .uri(URI.create(url))
+            .headers(headers -> {
+                headers.set(HttpHeaders.USER_AGENT, USER_AGENT);
+                if (cached != null && cached.etag != null) {
+                    headers.setIfNoneMatch(cached.etag);
                 }
-            }
-        }
-        
-        // Fallback to common selectors
-        String[] commonSelectors = {
-            "#jobDescriptionText", ".job-description", ".description",
-            "[class*='description']", "[id*='description']",
-            "main", "article", ".content"
-        };
-        
-        for (String selector : commonSelectors) {
-            Elements elements = doc.select(selector);
-            if (!elements.isEmpty()) {
-                String text = elements.first().text();
-                if (text.length() > 100) {
-                    return text;
+                if (cached != null && cached.lastModified != null) {
+                    headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
                 }
-            }
+            })
+            .exchangeToMono(response -> {
+                if (cached != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                    if (emptyIfNotModified) {
+                        log.debug("Page unchanged: {}", normalizedUrl);
+                        return response.releaseBody().then(Mono.empty());
+                    }
+                    log.debug("Serving cached page for {}", normalizedUrl);
+                    return response.releaseBody()
+                        .then(Mono.fromCallable(() -> pageCache.read(cached)).subscribeOn(parseScheduler))
+                        .onErrorResume(IOException.class, e -> {
+                            // The body went missing, fetch the page again unconditionally
+                            pageCache.remove(cached);
+                            return fetch(url, normalizedUrl, null, emptyIfNotModified);
+                        });
+                }
+                if (!response.statusCode().is2xxSuccessful()) {
+                    return response.createError();
+                }
+                String etag = response.headers().asHttpHeaders().getETag();
+                String lastModified = response.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+                Charset charset = response.headers().contentType()
+                    .map(MediaType::getCharset)
+                    .orElse(StandardCharsets.UTF_8);
+                // Keep the start of oversized pages rather than failing them; the rest is never buffered
+                return DataBufferUtils.join(DataBufferUtils.takeUntilByteCount(response.bodyToFlux(DataBuffer.class), maxBodyBytes))
+                    .map(buffer -> {
+                        try {
+                            return buffer.toString(charset);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .defaultIfEmpty("")
+                    .publishOn(parseScheduler)
+                    .doOnNext(body -> pageCache.store(normalizedUrl, etag, lastModified, body));
+            });
+    }
+    
+    /**
+     * How often pages of each domain were extracted from their JSON-LD JobPosting rather than
+     * with selectors.
+     */
+    public List<ExtractionStats> extractionStats() {
+        List<ExtractionStats> stats = new ArrayList<>();
+        extractionCounters.forEach((domain, counter) -> stats.add(
+            new ExtractionStats(domain, counter.structuredData.sum(), counter.selectors.sum())));
+        stats.sort(Comparator.comparing(ExtractionStats::getDomain));
+        return stats;
+    }
+    
+    private ScrapedJobData parse(String html, String url) {
+        ExtractionCounter counter = extractionCounters.computeIfAbsent(getDomain(url), domain -> new ExtractionCounter());
+        JobPostingJsonLd.Posting posting = JobPostingJsonLd.find(html);
+        if (posting != null) {
+            counter.structuredData.increment();
+            return parse(posting);
         }
-        
-        // Last resort: get body text
-        return doc.body().text();
+        counter.selectors.increment();
+        return parse(Jsoup.parse(HtmlStripper.strip(html), url), url);
     }
     
-    private static List<String> extractSkills(String description) {
-        Set<String> skills = new HashSet<>();
-        String lowerDesc = description.toLowerCase();
+    private ScrapedJobData parse(JobPostingJsonLd.Posting posting) {
+        String company = posting.company != null ? posting.company : "Company";
+        String description = truncate(posting.description);
+        SkillTaxonomy.Tags tags = taxonomy.tag(description);
         
-        // Common technical skills
-        String[] techSkills = {
-            "java", "python", "javascript", "typescript", "react", "angular", "vue",
-            "node.js", "spring", "django", "flask", "express", "sql", "postgresql",
-            "mysql", "mongodb", "redis", "aws", "azure", "docker", "kubernetes",
-            "git", "ci/cd", "rest api", "graphql", "microservices", "agile", "scrum"
-        };
+        // Declared skills first, then the ones mentioned in the description
+        Set<String> requiredSkills = new LinkedHashSet<>(posting.skills);
+        requiredSkills.addAll(tags.skills);
         
-        for (String skill : techSkills) {
-            if (lowerDesc.contains(skill)) {
-                skills.add(capitalize(skill));
-            }
-        }
+        log.info("Successfully scraped job from structured data: {} at {}", posting.title, company);
         
-        // Extract skills from "required skills" or "qualifications" sections
-        Pattern skillPattern = Pattern.compile(
-            "(?:required|must have|qualifications?|skills?)[:;]?\\s*([^\\n]+(?:\\n[^\\n]+){0,5})",
-            Pattern.CASE_INSENSITIVE
+        return new ScrapedJobData(
+            posting.title,
+            company,
+            description,
+            new ArrayList<>(requiredSkills),
+            tags.technologies,
+            tags.keywords,
+            tags.softSkills,
+            JobTextAnalyzer.extractResponsibilities(description)
         );
-        
-        return new ArrayList<>(skills);
     }
     
-    private static List<String> extractTechnologies(String description) {
-        Set<String> technologies = new HashSet<>();
-        String lowerDesc = description.toLowerCase();
+    private ScrapedJobData parse(Document doc, String url) {
+        // Extract basic info
+        String title = extractTitle(doc, url);
+        String company = extractCompany(doc, url);
+        String description = truncate(extractDescription(doc, url));
         
-        String[] techStack = {
-            "react", "angular", "vue", "next.js", "nuxt", "svelte",
-            "node.js", "express", "nest.js", "spring boot", "django", "flask",
-            "postgresql", "mysql", "mongodb", "redis", "elasticsearch",
-            "aws", "azure", "gcp", "docker", "kubernetes", "terraform",
-            "jenkins", "github actions", "gitlab ci", "circleci"
-        };
+        // Extract structured data from description
+        SkillTaxonomy.Tags tags = taxonomy.tag(description);
+        List<String> responsibilities = JobTextAnalyzer.extractResponsibilities(description);
         
-        for (String tech : techStack) {
-            if (lowerDesc.contains(tech)) {
-                technologies.add(capitalize(tech));
-            }
-        }
+        log.info("Successfully scraped job: {} at {}", title, company);
         
-        return new ArrayList<>(technologies);
+        return new ScrapedJobData(
+            title,
+            company,
+            description,
+            tags.skills,
+            tags.technologies,
+            tags.keywords,
+            tags.softSkills,
+            responsibilities
+        );
     }
     
-    private static List<String> extractKeywords(String description) {
-        Set<String> keywords = new HashSet<>();
-        String lowerDesc = description.toLowerCase();
-        
-        String[] commonKeywords = {
-            "full-stack", "full stack", "frontend", "front-end", "backend", "back-end",
-            "full-time", "remote", "hybrid", "onsite", "on-site",
-            "senior", "junior", "mid-level", "entry-level",
-            "startup", "enterprise", "saas", "b2b", "b2c"
-        };
-        
-        for (String keyword : commonKeywords) {
-            if (lowerDesc.contains(keyword)) {
-                keywords.add(keyword);
-            }
-        }
-        
-        return new ArrayList<>(keywords);
+    private String extractTitle(Document doc, String url) {
+        String title = extractors.extract(doc, getDomain(url), ExtractorRegistry.Field.TITLE);
+        return title != null ? title : "Job Position";
     }
     
-    private static List<String> extractSoftSkills(String description) {
-        Set<String> softSkills = new HashSet<>();
-        String lowerDesc = description.toLowerCase();
-        
-        String[] skills = {
-            "communication", "teamwork", "collaboration", "leadership",
-            "problem-solving", "problem solving", "analytical", "creative",
-            "time management", "organization", "adaptability", "flexibility"
-        };
-        
-        for (String skill : skills) {
-            if (lowerDesc.contains(skill)) {
-                softSkills.add(capitalize(skill));
-            }
-        }
-        
-        return new ArrayList<>(softSkills);
+    private String extractCompany(Document doc, String url) {
+        String company = extractors.extract(doc, getDomain(url), ExtractorRegistry.Field.COMPANY);
+        return company != null ? company : "Company";
     }
     
-    private static List<String> extractResponsibilities(String description) {
-        List<String> responsibilities = new ArrayList<>();
-        
-        // Look for bullet points or numbered lists
-        Pattern bulletPattern = Pattern.compile(
-            "(?:^|\\n)[•\\-*]\\s*([^\\n]+)",
-            Pattern.MULTILINE
-        );
-        
-        Pattern numberedPattern = Pattern.compile(
-            "(?:^|\\n)\\d+[.)]\\s*([^\\n]+)",
-            Pattern.MULTILINE
-        );
-        
-        // Extract from "responsibilities" or "duties" sections
-        Pattern sectionPattern = Pattern.compile(
-            "(?:responsibilities?|duties?|what you'll do)[:;]?\\s*([^\\n]+(?:\\n[^\\n]+){0,10})",
-            Pattern.CASE_INSENSITIVE | Pattern.MULTILINE
-        );
-        
-        java.util.regex.Matcher matcher = bulletPattern.matcher(description);
-        while (matcher.find() && responsibilities.size() < 10) {
-            String resp = matcher.group(1).trim();
-            if (resp.length() > 10 && resp.length() < 200) {
-                responsibilities.add(resp);
-            }
-        }
-        
-        if (responsibilities.isEmpty()) {
-            matcher = numberedPattern.matcher(description);
-            while (matcher.find() && responsibilities.size() < 10) {
-                String resp = matcher.group(1).trim();
-                if (resp.length() > 10 && resp.length() < 200) {
-                    responsibilities.add(resp);
-                }
-            }
+    private String extractDescription(Document doc, String url) {
+        String description = extractors.extract(doc, getDomain(url), ExtractorRegistry.Field.DESCRIPTION);
+        // Last resort: get body text
+        return description != null ? description : doc.body().text();
+    }
+    
+    /**
+     * Cuts a description down to the maximum length, at a word boundary when there is one nearby.
+     */
+    private String truncate(String description) {
+        if (description.length() <= maxDescriptionLength) {
+            return description;
         }
-        
-        return responsibilities;
+        int cut = description.lastIndexOf(' ', maxDescriptionLength);
+        return description.substring(0, cut > maxDescriptionLength / 2 ? cut : maxDescriptionLength);
     }
     
     private static String getDomain(String url) {
@@ -317,11 +293,16 @@ public class JobDescriptionScraper {
         }
     }
     
-    private static String capitalize(String str) {
-        if (str == null || str.isEmpty()) {
-            return str;
-        }
-        return str.substring(0, 1).toUpperCase() + str.substring(1).toLowerCase();
+    private static class ExtractionCounter {
+        final LongAdder structuredData = new LongAdder();
+        final LongAdder selectors = new LongAdder();
+    }
+    
+    @Value
+    public static class ExtractionStats {
+        String domain;
+        long structuredData;
+        long selectors;
     }
     
     public static class ScrapedJobData {
@@ -0,0 +1,200 @@
+package com.hunterai.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the schema.org JobPosting that most job boards embed as a
+ * {@code <script type="application/ld+json">} block.
+ *
+ * The blocks are located in the raw HTML and read with a streaming JSON parser, so a page
+ * that carries a JobPosting is never parsed into a DOM. Parsing stops at the first JobPosting
+ * with a title and a description, whether it is the top-level object, part of an array or
+ * nested in an {@code @graph}.
+ */
+public class JobPostingJsonLd {
+    
+    private static final Pattern SCRIPT_START = Pattern.compile(
+        "<script[^>]*type\\s*=\\s*[\"']?application/ld\\+json[^>]*>",
+        Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern SCRIPT_END = Pattern.compile("</script", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SKILL_SEPARATOR = Pattern.compile("\\s*[,;\\n]\\s*");
+    
+    // Embedded JSON-LD is hand-written often enough that raw newlines inside strings are common
+    private static final JsonFactory JSON = JsonFactory.builder()
+        .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+        .build();
+    
+    /**
+     * Returns the first complete JobPosting of the page, or null when it has none.
+     */
+    public static Posting find(String html) {
+        Matcher start = SCRIPT_START.matcher(html);
+        Matcher end = SCRIPT_END.matcher(html);
+        while (start.find()) {
+            if (!end.find(start.end())) {
+                return null;
+            }
+            try (JsonParser parser = JSON.createParser(html.substring(start.end(), end.start()))) {
+                JsonToken token = parser.nextToken();
+                Posting posting = token != null ? readValue(parser, token) : null;
+                if (posting != null) {
+                    return posting;
+                }
+            } catch (IOException e) {
+                // Malformed block, try the next one
+            }
+        }
+        return null;
+    }
+    
+    private static Posting readValue(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.START_OBJECT) {
+            return readObject(parser);
+        }
+        if (token == JsonToken.START_ARRAY) {
+            JsonToken element;
+            while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                Posting posting = readValue(parser, element);
+                if (posting != null) {
+                    return posting;
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static Posting readObject(JsonParser parser) throws IOException {
+        boolean jobPosting = false;
+        String title = null;
+        String company = null;
+        String description = null;
+        List<String> skills = new ArrayList<>();
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                case "@type" -> jobPosting = isJobPosting(parser, value);
+                case "title" -> title = text(parser, value);
+                case "description" -> description = text(parser, value);
+                case "hiringOrganization" -> company = organizationName(parser, value);
+                case "skills" -> readSkills(parser, value, skills);
+                default -> {
+                    // Postings can be nested, e.g. in an @graph or a page's mainEntity
+                    Posting nested = readValue(parser, value);
+                    if (nested != null) {
+                        return nested;
+                    }
+                }
+            }
+        }
+        
+        if (!jobPosting || title == null || title.isBlank() || description == null || description.isBlank()) {
+            return null;
+        }
+        return new Posting(title.trim(), company, toText(description), skills);
+    }
+    
+    private static boolean isJobPosting(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return "JobPosting".equals(parser.getText());
+        }
+        boolean jobPosting = false;
+        if (value == JsonToken.START_ARRAY) {
+            JsonToken element;
+            while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                jobPosting |= element == JsonToken.VALUE_STRING && "JobPosting".equals(parser.getText());
+            }
+        }
+        return jobPosting;
+    }
+    
+    private static String organizationName(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            return text(parser, value);
+        }
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken fieldValue = parser.nextToken();
+            if (field.equals("name")) {
+                name = text(parser, fieldValue);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return name != null && !name.isBlank() ? name.trim() : null;
+    }
+    
+    private static void readSkills(JsonParser parser, JsonToken value, List<String> skills) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            for (String skill : SKILL_SEPARATOR.split(toText(parser.getText()))) {
+                if (!skill.isBlank()) {
+                    skills.add(skill.trim());
+                }
+            }
+        } else if (value == JsonToken.START_ARRAY) {
+            JsonToken element;
+            while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                if (element == JsonToken.START_OBJECT) {
+                    // DefinedTerm
+                    String name = organizationName(parser, element);
+                    if (name != null) {
+                        skills.add(name);
+                    }
+                } else {
+                    readSkills(parser, element, skills);
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+    }
+    
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+    
+    /**
+     * Descriptions are usually HTML, sometimes escaped a second time.
+     */
+    private static String toText(String value) {
+        if (value.indexOf('<') < 0 && value.indexOf('&') < 0) {
+            return value.trim();
+        }
+        String text = Jsoup.parseBodyFragment(value).text();
+        if (text.indexOf('<') >= 0 && text.indexOf('>') >= 0) {
+            text = Jsoup.parseBodyFragment(text).text();
+        }
+        return text;
+    }
+    
+    public static class Posting {
+        public final String title;
+        public final String company;
+        public final String description;
+        public final List<String> skills;
+        
+        Posting(String title, String company, String description, List<String> skills) {
+            this.title = title;
+            this.company = company;
+            this.description = description;
+            this.skills = skills;
+        }
+    }
+}
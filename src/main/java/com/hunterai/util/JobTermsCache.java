@@ -0,0 +1,78 @@
+package com.hunterai.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of compiled job descriptions, keyed by job description ID and the content version
+ * of its term vector, so repeat scorings of the same job reuse its keyword automaton.
+ *
+ * Compilation runs outside the lock; when two callers compile the same job at once, the first
+ * result stored wins and both get it, so a job has one {@link ATSScorer.JobTerms} instance
+ * while it stays cached.
+ */
+public class JobTermsCache {
+    
+    private final int maxEntries;
+    private final LinkedHashMap<Key, ATSScorer.JobTerms> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    public JobTermsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public ATSScorer.JobTerms get(Long jobDescriptionId, long version, Supplier<ATSScorer.JobTerms> compile) {
+        if (maxEntries <= 0 || jobDescriptionId == null) {
+            return compile.get();
+        }
+        Key key = new Key(jobDescriptionId, version);
+        synchronized (entries) {
+            ATSScorer.JobTerms cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        ATSScorer.JobTerms compiled = compile.get();
+        synchronized (entries) {
+            ATSScorer.JobTerms cached = entries.putIfAbsent(key, compiled);
+            if (cached != null) {
+                return cached;
+            }
+            Iterator<Key> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+            return compiled;
+        }
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    private static final class Key {
+        final Long jobDescriptionId;
+        final long version;
+        
+        Key(Long jobDescriptionId, long version) {
+            this.jobDescriptionId = jobDescriptionId;
+            this.version = version;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return version == other.version && jobDescriptionId.equals(other.jobDescriptionId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(jobDescriptionId, version);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.hunterai.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Analysis of a job description given as plain text.
+ *
+ * Runs entirely in memory: title and company come from labelled lines ("Job Title: ...",
+ * "Company: ..."), skills and the other categories from the {@link SkillTaxonomy} and
+ * responsibilities from bulleted or numbered lines. The text is scanned with index lookups
+ * rather than splits and regular expressions, so no copies of it are made.
+ */
+public class JobTextAnalyzer {
+    
+    private static final String[] TITLE_LABELS = {"Job Title:", "Position:", "Role:", "Title:"};
+    private static final String[] COMPANY_LABELS = {"Company:", "Employer:", "Organization:"};
+    private static final int MAX_LABELLED_VALUE_LENGTH = 100;
+    private static final int MAX_RESPONSIBILITIES = 10;
+    
+    private final SkillTaxonomy taxonomy;
+    
+    public JobTextAnalyzer(SkillTaxonomy taxonomy) {
+        this.taxonomy = taxonomy;
+    }
+    
+    public Analysis analyze(String text) {
+        if (text == null) {
+            text = "";
+        }
+        String title = labelledValue(text, TITLE_LABELS);
+        String company = labelledValue(text, COMPANY_LABELS);
+        return new Analysis(
+            title != null ? title : "Job Position",
+            company != null ? company : "Company",
+            taxonomy.tag(text),
+            extractResponsibilities(text)
+        );
+    }
+    
+    /**
+     * Bulleted ("-", "*", "•") or numbered ("1." or "1)") lines of reasonable length.
+     */
+    public static List<String> extractResponsibilities(String text) {
+        List<String> responsibilities = new ArrayList<>();
+        int start = 0;
+        while (start < text.length() && responsibilities.size() < MAX_RESPONSIBILITIES) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                end = text.length();
+            }
+            int content = listItemContent(text, start, end);
+            if (content >= 0) {
+                String item = text.substring(content, end).trim();
+                if (item.length() > 10 && item.length() < 200) {
+                    responsibilities.add(item);
+                }
+            }
+            start = end + 1;
+        }
+        return responsibilities;
+    }
+    
+    /**
+     * Returns where the text of a list item line starts, or -1 if the line is no list item.
+     */
+    private static int listItemContent(String text, int start, int end) {
+        int i = start;
+        while (i < end && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        if (i == end) {
+            return -1;
+        }
+        char first = text.charAt(i);
+        if (first == '-' || first == '*' || first == '•') {
+            return i + 1;
+        }
+        int digits = i;
+        while (digits < end && Character.isDigit(text.charAt(digits))) {
+            digits++;
+        }
+        if (digits > i && digits + 1 < end
+            && (text.charAt(digits) == '.' || text.charAt(digits) == ')')
+            && Character.isWhitespace(text.charAt(digits + 1))) {
+            return digits + 1;
+        }
+        return -1;
+    }
+    
+    /**
+     * The rest of the line after the first label with a short enough value, labels tried in order.
+     */
+    private static String labelledValue(String text, String[] labels) {
+        for (String label : labels) {
+            int index = text.indexOf(label);
+            if (index < 0) {
+                continue;
+            }
+            int start = index + label.length();
+            int end = text.indexOf('\n', start);
+            String value = text.substring(start, end < 0 ? text.length() : end).trim();
+            if (value.length() < MAX_LABELLED_VALUE_LENGTH) {
+                return value;
+            }
+        }
+        return null;
+    }
+    
+    public static class Analysis {
+        public final String title;
+        public final String company;
+        public final SkillTaxonomy.Tags tags;
+        public final List<String> responsibilities;
+        
+        public Analysis(String title, String company, SkillTaxonomy.Tags tags, List<String> responsibilities) {
+            this.title = title;
+            this.company = company;
+            this.tags = tags;
+            this.responsibilities = responsibilities;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.hunterai.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton compiled from a fixed list of keywords.
+ *
+ * A keyword matches when it occurs, case-insensitively, as a substring of any of the
+ * scanned texts. Each text is scanned once, character by character, regardless of how
+ * many keywords the matcher holds. {@link #findWholeWordMatches(String)} additionally requires
+ * keywords to stand as whole words. Instances are immutable and safe to share between threads.
+ */
+public class KeywordMatcher {
+    
+    private static final int ROOT = 0;
+    
+    private final List<String> keywords;
+    private final int[] keywordPattern; // keyword index -> pattern id, -1 for null keywords
+    private final int patternCount;
+    private final int[] patternLength;
+    private final boolean[] patternStartsWord; // first character is a letter or digit
+    private final boolean[] patternEndsWord; // last character is a letter or digit
+    
+    // Trie nodes, edges sorted by label for binary search
+    private final char[][] edgeLabels;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    private final int[] outputLink; // nearest node on the fail chain that ends a pattern
+    private final int[] nodePattern; // pattern ending at this node, -1 if none
+    
+    private KeywordMatcher(List<String> keywords) {
+        this.keywords = Collections.unmodifiableList(new ArrayList<>(keywords));
+        this.keywordPattern = new int[keywords.size()];
+        
+        // Distinct lowercase keywords become patterns
+        Map<String, Integer> patternIds = new HashMap<>();
+        for (int i = 0; i < keywords.size(); i++) {
+            String keyword = keywords.get(i);
+            keywordPattern[i] = keyword == null ? -1
+                : patternIds.computeIfAbsent(fold(keyword), k -> patternIds.size());
+        }
+        this.patternCount = patternIds.size();
+        this.patternLength = new int[patternCount];
+        this.patternStartsWord = new boolean[patternCount];
+        this.patternEndsWord = new boolean[patternCount];
+        for (Map.Entry<String, Integer> entry : patternIds.entrySet()) {
+            String pattern = entry.getKey();
+            int id = entry.getValue();
+            patternLength[id] = pattern.length();
+            patternStartsWord[id] = !pattern.isEmpty() && Character.isLetterOrDigit(pattern.charAt(0));
+            patternEndsWord[id] = !pattern.isEmpty() && Character.isLetterOrDigit(pattern.charAt(pattern.length() - 1));
+        }
+        
+        // Build the trie with sorted child maps, then freeze it into arrays
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> patterns = new ArrayList<>();
+        children.add(new TreeMap<>());
+        patterns.add(-1);
+        for (Map.Entry<String, Integer> entry : patternIds.entrySet()) {
+            int node = ROOT;
+            for (char c : entry.getKey().toCharArray()) {
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    patterns.add(-1);
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            patterns.set(node, entry.getValue());
+        }
+        
+        int nodeCount = children.size();
+        this.edgeLabels = new char[nodeCount][];
+        this.edgeTargets = new int[nodeCount][];
+        this.nodePattern = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            TreeMap<Character, Integer> edges = children.get(node);
+            edgeLabels[node] = new char[edges.size()];
+            edgeTargets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeLabels[node][i] = edge.getKey();
+                edgeTargets[node][i] = edge.getValue();
+                i++;
+            }
+            nodePattern[node] = patterns.get(node);
+        }
+        
+        // Breadth-first pass to compute failure and output links
+        this.fail = new int[nodeCount];
+        this.outputLink = new int[nodeCount];
+        Arrays.fill(outputLink, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[ROOT]) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < edgeLabels[node].length; i++) {
+                char c = edgeLabels[node][i];
+                int child = edgeTargets[node][i];
+                int state = fail[node];
+                int target = transition(state, c);
+                while (target < 0 && state != ROOT) {
+                    state = fail[state];
+                    target = transition(state, c);
+                }
+                fail[child] = target < 0 ? ROOT : target;
+                int failNode = fail[child];
+                outputLink[child] = nodePattern[failNode] >= 0 ? failNode : outputLink[failNode];
+                queue.add(child);
+            }
+        }
+    }
+    
+    public static KeywordMatcher compile(List<String> keywords) {
+        return new KeywordMatcher(keywords);
+    }
+    
+    public List<String> getKeywords() {
+        return keywords;
+    }
+    
+    /**
+     * Scans the given texts and splits the keywords into matched and missing, preserving
+     * their original order and duplicates.
+     */
+    public MatchResult match(Iterable<String> texts) {
+        boolean[] flags = findMatches(texts);
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < keywords.size(); i++) {
+            if (flags[i]) {
+                matched.add(keywords.get(i));
+            } else {
+                missing.add(keywords.get(i));
+            }
+        }
+        return new MatchResult(matched, missing);
+    }
+    
+    /**
+     * Returns, for each keyword in order, whether it occurs in any of the given texts.
+     */
+    public boolean[] findMatches(Iterable<String> texts) {
+        return toKeywordFlags(scan(texts));
+    }
+    
+    /**
+     * Returns, for each keyword in order, whether it occurs in the text as a whole word: a
+     * keyword starting or ending with a letter or digit must not be directly preceded or
+     * followed by another one, so "java" does not match "javascript" but "c++" matches "c++,".
+     */
+    public boolean[] findWholeWordMatches(String text) {
+        boolean[] found = new boolean[patternCount];
+        if (text == null) {
+            return toKeywordFlags(found);
+        }
+        int remaining = patternCount - emitWholeWords(ROOT, text, -1, found);
+        int state = ROOT;
+        for (int i = 0; i < text.length() && remaining > 0; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next = transition(state, c);
+            while (next < 0 && state != ROOT) {
+                state = fail[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? ROOT : next;
+            remaining -= emitWholeWords(state, text, i, found);
+        }
+        return toKeywordFlags(found);
+    }
+    
+    private boolean[] toKeywordFlags(boolean[] found) {
+        boolean[] flags = new boolean[keywords.size()];
+        for (int i = 0; i < flags.length; i++) {
+            int pattern = keywordPattern[i];
+            flags[i] = pattern >= 0 && found[pattern];
+        }
+        return flags;
+    }
+    
+    private boolean[] scan(Iterable<String> texts) {
+        boolean[] found = new boolean[patternCount];
+        int remaining = patternCount;
+        for (String text : texts) {
+            if (text == null) continue;
+            // Every text contains the empty keyword
+            remaining -= emit(ROOT, found);
+            int state = ROOT;
+            for (int i = 0; i < text.length() && remaining > 0; i++) {
+                char c = Character.toLowerCase(text.charAt(i));
+                int next = transition(state, c);
+                while (next < 0 && state != ROOT) {
+                    state = fail[state];
+                    next = transition(state, c);
+                }
+                state = next < 0 ? ROOT : next;
+                remaining -= emit(state, found);
+            }
+            if (remaining == 0) break;
+        }
+        return found;
+    }
+    
+    private int emit(int node, boolean[] found) {
+        int newlyFound = 0;
+        int current = nodePattern[node] >= 0 ? node : outputLink[node];
+        while (current >= 0) {
+            int pattern = nodePattern[current];
+            if (!found[pattern]) {
+                found[pattern] = true;
+                newlyFound++;
+            }
+            current = outputLink[current];
+        }
+        return newlyFound;
+    }
+    
+    private int emitWholeWords(int node, String text, int end, boolean[] found) {
+        int newlyFound = 0;
+        int current = nodePattern[node] >= 0 ? node : outputLink[node];
+        while (current >= 0) {
+            int pattern = nodePattern[current];
+            if (!found[pattern] && isWholeWord(pattern, text, end)) {
+                found[pattern] = true;
+                newlyFound++;
+            }
+            current = outputLink[current];
+        }
+        return newlyFound;
+    }
+    
+    private boolean isWholeWord(int pattern, String text, int end) {
+        int before = end - patternLength[pattern];
+        if (patternStartsWord[pattern] && before >= 0 && Character.isLetterOrDigit(text.charAt(before))) {
+            return false;
+        }
+        int after = end + 1;
+        return !(patternEndsWord[pattern] && after < text.length() && Character.isLetterOrDigit(text.charAt(after)));
+    }
+    
+    private int transition(int node, char c) {
+        int index = Arrays.binarySearch(edgeLabels[node], c);
+        return index >= 0 ? edgeTargets[node][index] : -1;
+    }
+    
+    private static String fold(String keyword) {
+        char[] chars = keyword.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+    
+    public static class MatchResult {
+        public final List<String> matched;
+        public final List<String> missing;
+        
+        public MatchResult(List<String> matched, List<String> missing) {
+            this.matched = matched;
+            this.missing = missing;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.hunterai.util;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persistent cache of fetched job pages, keyed by normalized URL.
+ *
+ * Each entry is a body file plus a small properties file holding the URL and the ETag and
+ * Last-Modified validators, so a later fetch can revalidate with a conditional request and
+ * reuse the body on 304. Only responses that carry a validator are stored. The index lives
+ * in memory in access order and total body size is kept under a byte budget by evicting the
+ * least recently used entries; it is rebuilt from the directory on startup.
+ *
+ * Lookups only touch the in-memory index. Reading and storing bodies does file I/O and must
+ * not run on an event-loop thread.
+ */
+@Slf4j
+public class PageCache {
+    
+    private static final String BODY_SUFFIX = ".body";
+    private static final String META_SUFFIX = ".meta";
+    
+    private final Path directory;
+    private final long maxBytes;
+    
+    // Guarded by this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    public PageCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        if (maxBytes > 0) {
+            load();
+        }
+    }
+    
+    /**
+     * Returns the cached entry for the URL, or null when it has never been stored or was evicted.
+     */
+    public synchronized Entry lookup(String normalizedUrl) {
+        Entry entry = entries.get(key(normalizedUrl));
+        if (entry == null) {
+            misses.increment();
+        }
+        return entry;
+    }
+    
+    /**
+     * Reads the body of an entry the origin confirmed as unchanged.
+     */
+    public String read(Entry entry) throws IOException {
+        String body = Files.readString(bodyPath(entry.key), StandardCharsets.UTF_8);
+        revalidated.increment();
+        return body;
+    }
+    
+    /**
+     * Stores a freshly fetched body. Does nothing when the response had no validator to
+     * revalidate with later, or when the body alone exceeds the budget.
+     */
+    public void store(String normalizedUrl, String etag, String lastModified, String body) {
+        if (maxBytes <= 0 || (etag == null && lastModified == null)) {
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            return;
+        }
+        
+        String key = key(normalizedUrl);
+        Entry entry = new Entry(key, normalizedUrl, etag, lastModified, bytes.length);
+        try {
+            Files.createDirectories(directory);
+            // Write to temporary files and move them into place so readers never see a partial body
+            Path bodyTemp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(bodyTemp, bytes);
+            Path metaTemp = Files.createTempFile(directory, key, ".tmp");
+            try (Writer writer = Files.newBufferedWriter(metaTemp, StandardCharsets.UTF_8)) {
+                entry.toProperties().store(writer, null);
+            }
+            Files.move(bodyTemp, bodyPath(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(metaTemp, metaPath(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not cache page {}: {}", normalizedUrl, e.getMessage());
+            return;
+        }
+        stores.increment();
+        
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            totalBytes += entry.size - (previous != null ? previous.size : 0);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Entry victim = eldest.next();
+                if (victim.key.equals(key)) {
+                    continue;
+                }
+                eldest.remove();
+                totalBytes -= victim.size;
+                evicted.add(victim);
+            }
+        }
+        evictions.add(evicted.size());
+        evicted.forEach(this::delete);
+    }
+    
+    /**
+     * Drops an entry whose body could not be read back.
+     */
+    public void remove(Entry entry) {
+        synchronized (this) {
+            if (entries.remove(entry.key, entry)) {
+                totalBytes -= entry.size;
+            }
+        }
+        delete(entry);
+    }
+    
+    public synchronized Stats stats() {
+        return new Stats(
+            entries.size(),
+            totalBytes,
+            maxBytes,
+            revalidated.sum(),
+            misses.sum(),
+            stores.sum(),
+            evictions.sum()
+        );
+    }
+    
+    private void delete(Entry entry) {
+        try {
+            Files.deleteIfExists(metaPath(entry.key));
+            Files.deleteIfExists(bodyPath(entry.key));
+        } catch (IOException e) {
+            log.warn("Could not delete cached page {}: {}", entry.url, e.getMessage());
+        }
+    }
+    
+    private void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        // Leftovers of writes interrupted by a shutdown
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.tmp")) {
+            for (Path temp : stream) {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.debug("Could not clean temporary page cache files: {}", e.getMessage());
+        }
+        
+        List<Path> metaFiles = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + META_SUFFIX)) {
+            stream.forEach(metaFiles::add);
+            // Oldest first, so the most recently written pages end up most recently used
+            metaFiles.sort(Comparator.comparingLong(path -> path.toFile().lastModified()));
+        } catch (IOException e) {
+            log.warn("Could not read page cache directory {}: {}", directory, e.getMessage());
+            return;
+        }
+        
+        for (Path metaFile : metaFiles) {
+            String key = metaFile.getFileName().toString();
+            key = key.substring(0, key.length() - META_SUFFIX.length());
+            try (Reader reader = Files.newBufferedReader(metaFile, StandardCharsets.UTF_8)) {
+                Properties properties = new Properties();
+                properties.load(reader);
+                Entry entry = Entry.fromProperties(key, properties);
+                if (Files.size(bodyPath(key)) == entry.size) {
+                    entries.put(key, entry);
+                    totalBytes += entry.size;
+                    continue;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Discarding unreadable page cache entry {}: {}", key, e.getMessage());
+            }
+            delete(new Entry(key, key, null, null, 0));
+        }
+        
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Entry victim = eldest.next();
+            eldest.remove();
+            totalBytes -= victim.size;
+            evictions.increment();
+            delete(victim);
+        }
+        log.info("Loaded {} cached pages ({} bytes) from {}", entries.size(), totalBytes, directory);
+    }
+    
+    private Path bodyPath(String key) {
+        return directory.resolve(key + BODY_SUFFIX);
+    }
+    
+    private Path metaPath(String key) {
+        return directory.resolve(key + META_SUFFIX);
+    }
+    
+    private static String key(String normalizedUrl) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalizedUrl.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    public static class Entry {
+        final String key;
+        final String url;
+        public final String etag;
+        public final String lastModified;
+        final long size;
+        
+        Entry(String key, String url, String etag, String lastModified, long size) {
+            this.key = key;
+            this.url = url;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+        
+        Properties toProperties() {
+            Properties properties = new Properties();
+            properties.setProperty("url", url);
+            properties.setProperty("size", Long.toString(size));
+            if (etag != null) properties.setProperty("etag", etag);
+            if (lastModified != null) properties.setProperty("lastModified", lastModified);
+            return properties;
+        }
+        
+        static Entry fromProperties(String key, Properties properties) {
+            return new Entry(
+                key,
+                properties.getProperty("url"),
+                properties.getProperty("etag"),
+                properties.getProperty("lastModified"),
+                Long.parseLong(properties.getProperty("size"))
+            );
+        }
+    }
+    
+    @Value
+    public static class Stats {
+        int entries;
+        long bytes;
+        long maxBytes;
+        long revalidated;
+        long misses;
+        long stores;
+        long evictions;
+    }
+}
@@ -0,0 +1,198 @@
+package com.hunterai.util;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Extracts the text of a PDF within a bounded amount of heap.
+ *
+ * The document is read from a file instead of a byte array, and PDFBox keeps the buffers it
+ * needs while parsing in main memory only up to a per-document budget; anything beyond that
+ * goes to scratch files. Text is extracted one page at a time and extraction stops at the page
+ * or character cap, so a large or scanned upload costs at most the budget plus the capped
+ * text, however many of them are parsed at once.
+ *
+ * Documents of at least {@code parallelThreshold} pages are split into ranges of
+ * {@code pagesPerRange} pages that are extracted concurrently, each from its own
+ * {@link PDDocument} since those are not thread-safe, and reassembled in page order. The
+ * calling thread extracts the first range itself; the others run on the extract pool, or on
+ * the calling thread too when the pool is saturated. The document used to count the pages is
+ * closed before the ranges open theirs, and those split the memory budget between them. A
+ * range stops as soon as the ranges before it and its own pages fill the character cap, and
+ * all of them stop once one fails or the caller gives up.
+ */
+public class PdfTextExtractor {
+    
+    private final int maxPages;
+    private final int maxChars;
+    private final long maxMainMemoryBytes;
+    private final File scratchDirectory;
+    private final Executor extractPool;
+    private final int parallelThreshold;
+    private final int pagesPerRange;
+    
+    public PdfTextExtractor(int maxPages, int maxChars, long maxMainMemoryBytes, Path scratchDirectory,
+                            Executor extractPool, int parallelThreshold, int pagesPerRange) {
+        this.maxPages = maxPages;
+        this.maxChars = maxChars;
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+        this.extractPool = extractPool;
+        this.parallelThreshold = parallelThreshold;
+        this.pagesPerRange = Math.max(1, pagesPerRange);
+        try {
+            this.scratchDirectory = Files.createDirectories(scratchDirectory).toFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create PDF scratch directory " + scratchDirectory, e);
+        }
+    }
+    
+    public String extract(Path file) throws IOException {
+        int pages;
+        try (PDDocument document = load(file, maxMainMemoryBytes)) {
+            pages = Math.min(document.getNumberOfPages(), maxPages);
+            if (extractPool == null || pages < parallelThreshold || pages <= pagesPerRange) {
+                StringBuilder text = new StringBuilder();
+                extractPages(document, 1, pages, text, new Progress(1, maxChars), 0);
+                return capped(text);
+            }
+        }
+        return extractInRanges(file, pages);
+    }
+    
+    private String extractInRanges(Path file, int pages) throws IOException {
+        int ranges = (pages + pagesPerRange - 1) / pagesPerRange;
+        long rangeMemoryBytes = Math.max(1, maxMainMemoryBytes / ranges);
+        Progress progress = new Progress(ranges, maxChars);
+        
+        List<Future<String>> rest = new ArrayList<>(ranges - 1);
+        try {
+            for (int range = 1; range < ranges; range++) {
+                int index = range;
+                int first = range * pagesPerRange + 1;
+                int last = Math.min(pages, first + pagesPerRange - 1);
+                try {
+                    rest.add(CompletableFuture.supplyAsync(
+                        () -> extractRange(file, rangeMemoryBytes, first, last, progress, index), extractPool));
+                } catch (RejectedExecutionException e) {
+                    rest.add(CompletableFuture.completedFuture(
+                        extractRange(file, rangeMemoryBytes, first, last, progress, index)));
+                }
+            }
+            
+            StringBuilder text = new StringBuilder();
+            text.append(extractRange(file, rangeMemoryBytes, 1, Math.min(pages, pagesPerRange), progress, 0));
+            for (Future<String> range : rest) {
+                if (text.length() >= maxChars) {
+                    break;
+                }
+                text.append(range.get());
+            }
+            return capped(text);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException("Could not extract PDF page range", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting PDF", e);
+        } finally {
+            // Ranges already running stop at their next page
+            progress.cancel();
+            rest.forEach(range -> range.cancel(false));
+        }
+    }
+    
+    private String extractRange(Path file, long memoryBytes, int first, int last, Progress progress, int range) {
+        if (progress.finished(range)) {
+            return "";
+        }
+        try (PDDocument document = load(file, memoryBytes)) {
+            StringBuilder text = new StringBuilder();
+            extractPages(document, first, last, text, progress, range);
+            return text.toString();
+        } catch (IOException e) {
+            progress.cancel();
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void extractPages(PDDocument document, int first, int last, StringBuilder text,
+                              Progress progress, int range) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        for (int page = first; page <= last && !progress.finished(range); page++) {
+            stripper.setStartPage(page);
+            stripper.setEndPage(page);
+            String pageText = stripper.getText(document);
+            text.append(pageText);
+            progress.add(range, pageText.length());
+        }
+    }
+    
+    private PDDocument load(Path file, long memoryBytes) throws IOException {
+        MemoryUsageSetting memory = MemoryUsageSetting.setupMixed(memoryBytes).setTempDir(scratchDirectory);
+        return Loader.loadPDF(file.toFile(), memory.streamCache);
+    }
+    
+    private String capped(StringBuilder text) {
+        if (text.length() > maxChars) {
+            text.setLength(maxChars);
+        }
+        return text.toString();
+    }
+    
+    /**
+     * Characters extracted so far by each range, shared by the ranges of one document. Only the
+     * ranges before a given one decide whether its text still fits under the cap, since the text
+     * is reassembled in page order.
+     */
+    private static final class Progress {
+        
+        private final AtomicIntegerArray chars;
+        private final int maxChars;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        
+        Progress(int ranges, int maxChars) {
+            this.chars = new AtomicIntegerArray(ranges);
+            this.maxChars = maxChars;
+        }
+        
+        void add(int range, int length) {
+            chars.addAndGet(range, length);
+        }
+        
+        boolean finished(int range) {
+            if (cancelled.get()) {
+                return true;
+            }
+            long extracted = 0;
+            for (int i = 0; i <= range; i++) {
+                extracted += chars.get(i);
+            }
+            return extracted >= maxChars;
+        }
+        
+        void cancel() {
+            cancelled.set(true);
+        }
+    }
+}
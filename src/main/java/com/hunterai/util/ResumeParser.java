@@ -1,25 +1,21 @@
 package com.hunterai.util;
 
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
-
-import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
 public class ResumeParser {
     
-    public static ParsedResume parseResume(InputStream inputStream, String fileName) throws Exception {
+    public static ParsedResume parseResume(Path file, String fileName,
+                                           PdfTextExtractor pdfTextExtractor,
+                                           DocxTextExtractor docxTextExtractor) throws Exception {
         String text;
         
         if (fileName.toLowerCase().endsWith(".pdf")) {
-            text = parsePDF(inputStream);
+            text = pdfTextExtractor.extract(file);
         } else if (fileName.toLowerCase().endsWith(".docx")) {
-            text = parseDOCX(inputStream);
+            text = docxTextExtractor.extract(file);
         } else {
             throw new IllegalArgumentException("Unsupported file format. Only PDF and DOCX are supported.");
         }
@@ -27,64 +23,95 @@ public class ResumeParser {
         return extractResumeData(text);
     }
     
-    private static String parsePDF(InputStream inputStream) throws Exception {
-        byte[] bytes = inputStream.readAllBytes();
-        try (PDDocument document = Loader.loadPDF(bytes)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
-        }
-    }
+    // Section words, matched case-insensitively anywhere in a line
+    private static final int SUMMARY_HEADER = 1;
+    private static final int EXPERIENCE_HEADER = 1 << 1;
+    private static final int SKILLS_HEADER = 1 << 2;
+    private static final int PROJECTS_HEADER = 1 << 3;
+    private static final int EXPERIENCE_WORD = 1 << 4;
+    private static final int SKILLS_WORD = 1 << 5;
+    private static final int PROJECTS_WORD = 1 << 6;
+    private static final int EDUCATION_WORD = 1 << 7;
+    private static final int CERTIFICATIONS_WORD = 1 << 8;
+    private static final int AWARDS_WORD = 1 << 9;
+    private static final int REFERENCES_WORD = 1 << 10;
     
-    private static String parseDOCX(InputStream inputStream) throws Exception {
-        try (XWPFDocument document = new XWPFDocument(inputStream)) {
-            StringBuilder text = new StringBuilder();
-            for (XWPFParagraph paragraph : document.getParagraphs()) {
-                text.append(paragraph.getText()).append("\n");
-            }
-            return text.toString();
-        }
-    }
+    // Lines that end a section
+    private static final int EXPERIENCE_END = EDUCATION_WORD | SKILLS_WORD | PROJECTS_WORD | CERTIFICATIONS_WORD | AWARDS_WORD;
+    private static final int SKILLS_END = EXPERIENCE_WORD | EDUCATION_WORD | PROJECTS_WORD | CERTIFICATIONS_WORD;
+    private static final int PROJECTS_END = EDUCATION_WORD | CERTIFICATIONS_WORD | AWARDS_WORD | REFERENCES_WORD;
+    
+    private static final String[] SECTION_KEYWORDS = {
+        "summary", "objective", "profile", "about",
+        "experience", "employment", "work history",
+        "skills", "technologies", "tools",
+        "project", "projects", "portfolio",
+        "education", "certifications", "awards", "references"
+    };
+    private static final int[] SECTION_KEYWORD_FLAGS = {
+        SUMMARY_HEADER, SUMMARY_HEADER, SUMMARY_HEADER, SUMMARY_HEADER,
+        EXPERIENCE_HEADER | EXPERIENCE_WORD, EXPERIENCE_HEADER, EXPERIENCE_HEADER,
+        SKILLS_HEADER | SKILLS_WORD, SKILLS_HEADER, SKILLS_HEADER,
+        PROJECTS_HEADER, PROJECTS_WORD, PROJECTS_HEADER,
+        EDUCATION_WORD, CERTIFICATIONS_WORD, AWARDS_WORD, REFERENCES_WORD
+    };
+    private static final KeywordMatcher SECTION_MATCHER = KeywordMatcher.compile(List.of(SECTION_KEYWORDS));
+    
+    private static final String[] COMMON_SKILLS = {
+        "Java", "Python", "JavaScript", "TypeScript", "React", "Angular", "Vue",
+        "Node.js", "Spring", "Django", "Flask", "Express", "SQL", "PostgreSQL",
+        "MongoDB", "MySQL", "Redis", "Docker", "Kubernetes", "AWS", "Azure",
+        "Git", "Linux", "HTML", "CSS", "REST", "GraphQL", "Microservices"
+    };
+    private static final KeywordMatcher COMMON_SKILLS_MATCHER = KeywordMatcher.compile(List.of(COMMON_SKILLS));
+    
+    private static final Pattern DURATION = Pattern.compile(
+        "(\\d{4}|(Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)\\s+\\d{4})\\s*-\\s*(\\d{4}|Present|Current|Now)");
+    private static final Pattern ROLE_COMPANY_SEPARATOR = Pattern.compile("\\s+\\|\\s+|\\s+-\\s+|\\s+at\\s+");
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("[,|•\\-]");
+    private static final Pattern BULLET_PREFIX = Pattern.compile("^[•\\-*]\\s*|^\\d+\\.\\s*");
+    private static final Pattern SYMBOL_BULLET_PREFIX = Pattern.compile("^[•\\-*]\\s*");
+    private static final Pattern PROJECT_TECHNOLOGY = Pattern.compile("Java|Python|JavaScript|React|Node|SQL|AWS|Docker");
     
     private static ParsedResume extractResumeData(String text) {
         ParsedResume resume = new ParsedResume();
         
-        // Normalize text
-        String normalizedText = text.replaceAll("\\r\\n", "\n").replaceAll("\\r", "\n");
-        String[] lines = normalizedText.split("\n");
+        // Classify every line once, then let each extractor walk the outline
+        Outline outline = Outline.of(text);
         
         // Extract summary (usually first few lines or after "Summary", "Objective", etc.)
-        resume.summary = extractSummary(lines);
+        resume.summary = extractSummary(outline);
         
         // Extract experience
-        resume.experiences = extractExperiences(text, lines);
+        resume.experiences = extractExperiences(outline);
         
         // Extract skills
-        resume.skills = extractSkills(text, lines);
+        resume.skills = extractSkills(text, outline);
         
         // Extract projects
-        resume.projects = extractProjects(text, lines);
+        resume.projects = extractProjects(outline);
         
         return resume;
     }
     
-    private static String extractSummary(String[] lines) {
+    private static String extractSummary(Outline outline) {
         StringBuilder summary = new StringBuilder();
         boolean inSummary = false;
         int summaryLines = 0;
         
-        for (int i = 0; i < Math.min(lines.length, 20); i++) {
-            String line = lines[i].trim();
-            if (line.isEmpty()) continue;
+        for (int i = 0; i < Math.min(outline.lines.length, 20); i++) {
+            Line line = outline.lines[i];
+            if (line.blank) continue;
             
             // Look for summary keywords
-            if (line.matches("(?i).*(summary|objective|profile|about).*")) {
+            if (line.is(SUMMARY_HEADER)) {
                 inSummary = true;
                 continue;
             }
             
             if (inSummary || (i < 5 && summaryLines < 3)) {
-                if (line.length() > 10 && !line.matches("^[A-Z\\s]+$")) {
-                    summary.append(line).append(" ");
+                if (line.text.length() > 10 && !line.allCaps) {
+                    summary.append(line.text).append(" ");
                     summaryLines++;
                     if (summaryLines >= 3) break;
                 }
@@ -95,27 +122,14 @@ public class ResumeParser {
         return result.isEmpty() ? "Experienced professional seeking new opportunities." : result;
     }
     
-    private static List<ExperienceData> extractExperiences(String text, String[] lines) {
+    private static List<ExperienceData> extractExperiences(Outline outline) {
         List<ExperienceData> experiences = new ArrayList<>();
+        Line[] lines = outline.lines;
         
-        // Look for experience section
-        int experienceStart = -1;
-        for (int i = 0; i < lines.length; i++) {
-            if (lines[i].trim().matches("(?i).*(experience|employment|work history|professional experience).*")) {
-                experienceStart = i;
-                break;
-            }
-        }
-        
-        if (experienceStart == -1) {
-            // Try to find dates and company patterns
-            Pattern datePattern = Pattern.compile("\\d{4}|(Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)\\s+\\d{4}");
-            for (int i = 0; i < lines.length; i++) {
-                if (datePattern.matcher(lines[i]).find() && i < lines.length - 1) {
-                    experienceStart = i;
-                    break;
-                }
-            }
+        // Look for experience section, else start at the first dated line
+        int experienceStart = outline.firstExperienceHeader;
+        if (experienceStart == -1 && outline.firstYearLine < lines.length - 1) {
+            experienceStart = outline.firstYearLine;
         }
         
         if (experienceStart == -1) return experiences;
@@ -125,11 +139,11 @@ public class ResumeParser {
         List<String> currentBullets = new ArrayList<>();
         
         for (int i = experienceStart + 1; i < lines.length && experiences.size() < 10; i++) {
-            String line = lines[i].trim();
-            if (line.isEmpty()) continue;
+            Line line = lines[i];
+            if (line.blank) continue;
             
             // Check if this is a new experience entry (has dates and company/role)
-            if (line.matches(".*\\d{4}.*") || line.matches(".*(Present|Current|Now).*")) {
+            if (line.hasYear || line.hasCurrent) {
                 // Save previous experience
                 if (currentExp != null) {
                     currentExp.bullets = new ArrayList<>(currentBullets);
@@ -141,37 +155,36 @@ public class ResumeParser {
                 currentBullets.clear();
                 
                 // Try to extract role and company
-                String[] parts = line.split("\\s+\\|\\s+|\\s+-\\s+|\\s+at\\s+");
+                String[] parts = ROLE_COMPANY_SEPARATOR.split(line.text);
                 if (parts.length >= 2) {
                     currentExp.role = parts[0].trim();
                     currentExp.company = parts[1].trim();
                 } else {
-                    currentExp.role = line;
+                    currentExp.role = line.text;
                     if (i + 1 < lines.length) {
-                        currentExp.company = lines[i + 1].trim();
+                        currentExp.company = lines[i + 1].text;
                         i++;
                     }
                 }
                 
                 // Extract duration
-                if (line.matches(".*\\d{4}.*")) {
-                    currentExp.duration = extractDuration(line);
+                if (line.hasYear) {
+                    currentExp.duration = extractDuration(line.text);
                 }
             } else if (currentExp != null) {
                 // Check if this is a bullet point
-                if (line.startsWith("•") || line.startsWith("-") || line.startsWith("*") || 
-                    line.matches("^\\d+\\.\\s+.*")) {
-                    currentBullets.add(line.replaceFirst("^[•\\-*]\\s*|^\\d+\\.\\s*", ""));
-                } else if (line.length() > 20 && !line.matches("^[A-Z\\s]+$")) {
+                if (line.bullet) {
+                    currentBullets.add(BULLET_PREFIX.matcher(line.text).replaceFirst(""));
+                } else if (line.text.length() > 20 && !line.allCaps) {
                     // Might be a description line
                     if (currentBullets.isEmpty()) {
-                        currentBullets.add(line);
+                        currentBullets.add(line.text);
                     }
                 }
             }
             
             // Stop if we hit another major section
-            if (line.matches("(?i).*(education|skills|projects|certifications|awards).*")) {
+            if (line.isAny(EXPERIENCE_END)) {
                 break;
             }
         }
@@ -187,39 +200,26 @@ public class ResumeParser {
     
     private static String extractDuration(String line) {
         // Try to extract date range
-        Pattern pattern = Pattern.compile("(\\d{4}|(Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)\\s+\\d{4})\\s*-\\s*(\\d{4}|Present|Current|Now)");
-        java.util.regex.Matcher matcher = pattern.matcher(line);
+        java.util.regex.Matcher matcher = DURATION.matcher(line);
         if (matcher.find()) {
             return matcher.group();
         }
         return "";
     }
     
-    private static List<String> extractSkills(String text, String[] lines) {
+    private static List<String> extractSkills(String text, Outline outline) {
         List<String> skills = new ArrayList<>();
+        Line[] lines = outline.lines;
         
         // Look for skills section
-        int skillsStart = -1;
-        for (int i = 0; i < lines.length; i++) {
-            if (lines[i].trim().matches("(?i).*(skills|technical skills|technologies|tools).*")) {
-                skillsStart = i;
-                break;
-            }
-        }
+        int skillsStart = outline.firstSkillsHeader;
         
         if (skillsStart == -1) {
             // Try to find common tech skills in the text
-            String[] commonSkills = {
-                "Java", "Python", "JavaScript", "TypeScript", "React", "Angular", "Vue",
-                "Node.js", "Spring", "Django", "Flask", "Express", "SQL", "PostgreSQL",
-                "MongoDB", "MySQL", "Redis", "Docker", "Kubernetes", "AWS", "Azure",
-                "Git", "Linux", "HTML", "CSS", "REST", "GraphQL", "Microservices"
-            };
-            
-            String lowerText = text.toLowerCase();
-            for (String skill : commonSkills) {
-                if (lowerText.contains(skill.toLowerCase())) {
-                    skills.add(skill);
+            boolean[] found = COMMON_SKILLS_MATCHER.findMatches(List.of(text));
+            for (int i = 0; i < COMMON_SKILLS.length; i++) {
+                if (found[i]) {
+                    skills.add(COMMON_SKILLS[i]);
                 }
             }
             return skills;
@@ -227,17 +227,16 @@ public class ResumeParser {
         
         // Extract skills from skills section
         for (int i = skillsStart + 1; i < Math.min(lines.length, skillsStart + 20); i++) {
-            String line = lines[i].trim();
-            if (line.isEmpty()) continue;
+            Line line = lines[i];
+            if (line.blank) continue;
             
             // Stop if we hit another section
-            if (line.matches("(?i).*(experience|education|projects|certifications).*")) {
+            if (line.isAny(SKILLS_END)) {
                 break;
             }
             
             // Split by common delimiters
-            String[] skillArray = line.split("[,|•\\-]");
-            for (String skill : skillArray) {
+            for (String skill : LIST_SEPARATOR.split(line.text)) {
                 skill = skill.trim();
                 if (skill.length() > 2 && skill.length() < 50) {
                     skills.add(skill);
@@ -248,30 +247,25 @@ public class ResumeParser {
         return skills;
     }
     
-    private static List<ProjectData> extractProjects(String text, String[] lines) {
+    private static List<ProjectData> extractProjects(Outline outline) {
         List<ProjectData> projects = new ArrayList<>();
+        Line[] lines = outline.lines;
         
         // Look for projects section
-        int projectsStart = -1;
-        for (int i = 0; i < lines.length; i++) {
-            if (lines[i].trim().matches("(?i).*(projects|project|portfolio).*")) {
-                projectsStart = i;
-                break;
-            }
-        }
+        int projectsStart = outline.firstProjectsHeader;
         
         if (projectsStart == -1) return projects;
         
         ProjectData currentProject = null;
         
         for (int i = projectsStart + 1; i < lines.length && projects.size() < 10; i++) {
-            String line = lines[i].trim();
-            if (line.isEmpty()) continue;
+            Line line = lines[i];
+            if (line.blank) continue;
             
             // Check if this is a new project (usually a title/name)
-            if (line.length() > 5 && line.length() < 100 && 
-                !line.matches(".*\\d{4}.*") && 
-                !line.matches("^[•\\-*]\\s+.*")) {
+            if (line.text.length() > 5 && line.text.length() < 100 &&
+                !line.hasYear &&
+                !line.spacedSymbolBullet) {
                 
                 // Save previous project
                 if (currentProject != null) {
@@ -280,16 +274,15 @@ public class ResumeParser {
                 
                 // Start new project
                 currentProject = new ProjectData();
-                currentProject.name = line;
+                currentProject.name = line.text;
                 currentProject.technologies = new ArrayList<>();
             } else if (currentProject != null) {
                 // Check if this is a description
-                if (currentProject.description == null && line.length() > 10) {
-                    currentProject.description = line.replaceFirst("^[•\\-*]\\s*", "");
-                } else if (line.matches(".*(Java|Python|JavaScript|React|Node|SQL|AWS|Docker).*")) {
+                if (currentProject.description == null && line.text.length() > 10) {
+                    currentProject.description = SYMBOL_BULLET_PREFIX.matcher(line.text).replaceFirst("");
+                } else if (PROJECT_TECHNOLOGY.matcher(line.text).find()) {
                     // Might be technologies
-                    String[] techs = line.split("[,|•\\-]");
-                    for (String tech : techs) {
+                    for (String tech : LIST_SEPARATOR.split(line.text)) {
                         tech = tech.trim();
                         if (tech.length() > 2 && tech.length() < 30) {
                             currentProject.technologies.add(tech);
@@ -299,7 +292,7 @@ public class ResumeParser {
             }
             
             // Stop if we hit another major section
-            if (line.matches("(?i).*(education|certifications|awards|references).*")) {
+            if (line.isAny(PROJECTS_END)) {
                 break;
             }
         }
@@ -312,6 +305,121 @@ public class ResumeParser {
         return projects;
     }
     
+    /**
+     * The lines of a resume, each classified once, and where its sections start.
+     */
+    private static class Outline {
+        final Line[] lines;
+        int firstExperienceHeader = -1;
+        int firstSkillsHeader = -1;
+        int firstProjectsHeader = -1;
+        int firstYearLine = -1;
+        
+        private Outline(Line[] lines) {
+            this.lines = lines;
+        }
+        
+        static Outline of(String text) {
+            String[] rawLines = text.replace("\r\n", "\n").replace('\r', '\n').split("\n");
+            Outline outline = new Outline(new Line[rawLines.length]);
+            for (int i = 0; i < rawLines.length; i++) {
+                Line line = new Line(rawLines[i].trim());
+                outline.lines[i] = line;
+                if (outline.firstExperienceHeader == -1 && line.is(EXPERIENCE_HEADER)) {
+                    outline.firstExperienceHeader = i;
+                }
+                if (outline.firstSkillsHeader == -1 && line.is(SKILLS_HEADER)) {
+                    outline.firstSkillsHeader = i;
+                }
+                if (outline.firstProjectsHeader == -1 && line.is(PROJECTS_HEADER)) {
+                    outline.firstProjectsHeader = i;
+                }
+                if (outline.firstYearLine == -1 && line.hasYear) {
+                    outline.firstYearLine = i;
+                }
+            }
+            return outline;
+        }
+    }
+    
+    private static class Line {
+        final String text; // trimmed
+        final boolean blank;
+        final int sections; // section word flags
+        final boolean hasYear; // four digits in a row
+        final boolean hasCurrent; // "Present", "Current" or "Now"
+        final boolean bullet; // starts with •, -, * or "1. "
+        final boolean spacedSymbolBullet; // •, - or * followed by whitespace
+        final boolean allCaps; // only capital letters and whitespace
+        
+        Line(String text) {
+            this.text = text;
+            this.blank = text.isEmpty();
+            this.sections = blank ? 0 : sectionFlags(text);
+            this.hasYear = hasYear(text);
+            this.hasCurrent = text.contains("Present") || text.contains("Current") || text.contains("Now");
+            
+            char first = blank ? 0 : text.charAt(0);
+            boolean symbolBullet = first == '•' || first == '-' || first == '*';
+            this.bullet = symbolBullet || isNumberedBullet(text);
+            this.spacedSymbolBullet = symbolBullet && text.length() > 1 && isSpace(text.charAt(1));
+            this.allCaps = !blank && isAllCaps(text);
+        }
+        
+        boolean is(int flag) {
+            return (sections & flag) != 0;
+        }
+        
+        boolean isAny(int flags) {
+            return (sections & flags) != 0;
+        }
+        
+        private static int sectionFlags(String text) {
+            boolean[] found = SECTION_MATCHER.findMatches(List.of(text));
+            int flags = 0;
+            for (int i = 0; i < found.length; i++) {
+                if (found[i]) {
+                    flags |= SECTION_KEYWORD_FLAGS[i];
+                }
+            }
+            return flags;
+        }
+        
+        private static boolean hasYear(String text) {
+            int run = 0;
+            for (int i = 0; i < text.length(); i++) {
+                run = text.charAt(i) >= '0' && text.charAt(i) <= '9' ? run + 1 : 0;
+                if (run == 4) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private static boolean isNumberedBullet(String text) {
+            int i = 0;
+            while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                i++;
+            }
+            return i > 0 && i + 1 < text.length() && text.charAt(i) == '.' && isSpace(text.charAt(i + 1));
+        }
+        
+        private static boolean isAllCaps(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (!(c >= 'A' && c <= 'Z') && !isSpace(c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        // Whitespace as \\s sees it
+        private static boolean isSpace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+        }
+    }
+    
     // Inner classes for parsed data
     public static class ParsedResume {
         public String summary;
@@ -0,0 +1,126 @@
+package com.hunterai.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Skills, technologies, keywords and soft skills recognized in job descriptions.
+ *
+ * The taxonomy is loaded from a versioned JSON resource mapping, per category, each canonical
+ * name to the terms that denote it. All terms of all categories are compiled into one
+ * {@link KeywordMatcher}, so tagging a text is a single case-insensitive pass that only counts
+ * terms standing as whole words. Instances are immutable and safe to share between threads.
+ */
+public class SkillTaxonomy {
+    
+    public enum Category {
+        SKILLS("skills"),
+        TECHNOLOGIES("technologies"),
+        KEYWORDS("keywords"),
+        SOFT_SKILLS("softSkills");
+        
+        private final String key;
+        
+        Category(String key) {
+            this.key = key;
+        }
+    }
+    
+    private final int version;
+    private final KeywordMatcher matcher;
+    // Per matcher keyword, the category and canonical name it tags
+    private final Category[] termCategories;
+    private final String[] termNames;
+    
+    private SkillTaxonomy(int version, List<String> terms, List<Category> categories, List<String> names) {
+        this.version = version;
+        this.matcher = KeywordMatcher.compile(terms);
+        this.termCategories = categories.toArray(new Category[0]);
+        this.termNames = names.toArray(new String[0]);
+    }
+    
+    /**
+     * Loads a taxonomy from a classpath resource.
+     */
+    public static SkillTaxonomy load(String resource) {
+        try (InputStream in = SkillTaxonomy.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Skill taxonomy not found: " + resource);
+            }
+            JsonNode root = new ObjectMapper().readTree(in);
+            
+            List<String> terms = new ArrayList<>();
+            List<Category> categories = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (Category category : Category.values()) {
+                Iterator<Map.Entry<String, JsonNode>> entries = root.path("categories").path(category.key).fields();
+                while (entries.hasNext()) {
+                    Map.Entry<String, JsonNode> entry = entries.next();
+                    for (JsonNode term : entry.getValue()) {
+                        terms.add(term.asText());
+                        categories.add(category);
+                        names.add(entry.getKey());
+                    }
+                }
+            }
+            return new SkillTaxonomy(root.path("version").asInt(), terms, categories, names);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read skill taxonomy " + resource, e);
+        }
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    public int getTermCount() {
+        return termNames.length;
+    }
+    
+    /**
+     * Tags the text with the canonical names of every category, in taxonomy order.
+     */
+    public Tags tag(String text) {
+        Map<Category, Set<String>> tagged = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            tagged.put(category, new LinkedHashSet<>());
+        }
+        boolean[] found = matcher.findWholeWordMatches(text);
+        for (int i = 0; i < found.length; i++) {
+            if (found[i]) {
+                tagged.get(termCategories[i]).add(termNames[i]);
+            }
+        }
+        return new Tags(
+            new ArrayList<>(tagged.get(Category.SKILLS)),
+            new ArrayList<>(tagged.get(Category.TECHNOLOGIES)),
+            new ArrayList<>(tagged.get(Category.KEYWORDS)),
+            new ArrayList<>(tagged.get(Category.SOFT_SKILLS))
+        );
+    }
+    
+    public static class Tags {
+        public final List<String> skills;
+        public final List<String> technologies;
+        public final List<String> keywords;
+        public final List<String> softSkills;
+        
+        public Tags(List<String> skills, List<String> technologies, List<String> keywords, List<String> softSkills) {
+            this.skills = skills;
+            this.technologies = technologies;
+            this.keywords = keywords;
+            this.softSkills = softSkills;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.hunterai.util;
+
+/**
+ * Immutable set of positions in a job description's term vector, packed into 64-bit words.
+ * {@link ATSScorer} keeps one per resume for the last job it was matched against, holding the
+ * job keywords found in the resume.
+ */
+public class TermBitSet {
+    
+    private final long[] words;
+    
+    private TermBitSet(long[] words) {
+        this.words = words;
+    }
+    
+    public static TermBitSet of(boolean[] flags) {
+        long[] words = new long[(flags.length + 63) >>> 6];
+        for (int position = 0; position < flags.length; position++) {
+            if (flags[position]) {
+                words[position >>> 6] |= 1L << position;
+            }
+        }
+        return new TermBitSet(words);
+    }
+    
+    public boolean get(int position) {
+        int word = position >>> 6;
+        return word < words.length && (words[word] & (1L << position)) != 0;
+    }
+    
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hunterai.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only dictionary that assigns each normalized term a dense int ID, so per-term
+ * statistics can be kept in primitive arrays indexed by ID. Only corpus statistics intern
+ * terms, so it grows with the vocabulary of stored job descriptions; scoring does not use it.
+ */
+public class TermDictionary {
+    
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] terms = new String[64];
+    private volatile int size;
+    
+    /**
+     * Returns the ID of the term, assigning the next free one if the term is new.
+     */
+    public int intern(String term) {
+        String normalized = TermVector.normalize(term);
+        Integer id = ids.get(normalized);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(normalized);
+            if (id != null) {
+                return id;
+            }
+            int next = size;
+            String[] current = terms;
+            if (next == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[next] = normalized;
+            terms = current;
+            size = next + 1;
+            ids.put(normalized, next);
+            return next;
+        }
+    }
+    
+    /**
+     * Returns the ID of the term, or -1 if it has never been interned.
+     */
+    public int idOf(String term) {
+        Integer id = ids.get(TermVector.normalize(term));
+        return id != null ? id : -1;
+    }
+    
+    public String term(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Unknown term id: " + id);
+        }
+        return terms[id];
+    }
+    
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,144 @@
+package com.hunterai.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Normalized term dictionary with term frequencies, computed once when a resume or job
+ * description is ingested and persisted in a compact line-based form ({@code freq<TAB>term}).
+ *
+ * Terms are deduplicated by their normalized form (lowercase, single spaces) and keep the
+ * order in which they were first seen.
+ */
+public class TermVector {
+    
+    private static final TermVector EMPTY = new TermVector(List.of(), new int[0]);
+    
+    private final List<String> terms;
+    private final int[] frequencies;
+    private final int totalFrequency;
+    
+    private TermVector(List<String> terms, int[] frequencies) {
+        this.terms = Collections.unmodifiableList(terms);
+        this.frequencies = frequencies;
+        int total = 0;
+        for (int frequency : frequencies) {
+            total += frequency;
+        }
+        this.totalFrequency = total;
+    }
+    
+    /**
+     * Builds a vector of free text such as skills, bullets and technologies. Terms are stored
+     * in their normalized form.
+     */
+    public static TermVector ofTexts(Iterable<String> texts) {
+        return build(texts, true);
+    }
+    
+    /**
+     * Builds a vector of keywords. Each term keeps the form it was first seen in, so it can be
+     * reported back as-is.
+     */
+    public static TermVector ofKeywords(Iterable<String> keywords) {
+        return build(keywords, false);
+    }
+    
+    public static TermVector empty() {
+        return EMPTY;
+    }
+    
+    private static TermVector build(Iterable<String> values, boolean storeNormalized) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> terms = new ArrayList<>();
+        List<Integer> frequencies = new ArrayList<>();
+        for (String value : values) {
+            if (value == null) continue;
+            String normalized = normalize(value);
+            if (normalized.isEmpty()) continue;
+            Integer position = index.get(normalized);
+            if (position == null) {
+                index.put(normalized, terms.size());
+                terms.add(storeNormalized ? normalized : collapseWhitespace(value));
+                frequencies.add(1);
+            } else {
+                frequencies.set(position, frequencies.get(position) + 1);
+            }
+        }
+        return new TermVector(terms, frequencies.stream().mapToInt(Integer::intValue).toArray());
+    }
+    
+    public static TermVector decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> terms = new ArrayList<>();
+        List<Integer> frequencies = new ArrayList<>();
+        int start = 0;
+        while (start < encoded.length()) {
+            int end = encoded.indexOf('\n', start);
+            if (end < 0) end = encoded.length();
+            int tab = encoded.indexOf('\t', start);
+            if (tab > start && tab < end) {
+                frequencies.add(Integer.parseInt(encoded, start, tab, 10));
+                terms.add(encoded.substring(tab + 1, end));
+            }
+            start = end + 1;
+        }
+        return new TermVector(terms, frequencies.stream().mapToInt(Integer::intValue).toArray());
+    }
+    
+    public String encode() {
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            if (i > 0) encoded.append('\n');
+            encoded.append(frequencies[i]).append('\t').append(terms.get(i));
+        }
+        return encoded.toString();
+    }
+    
+    public List<String> getTerms() {
+        return terms;
+    }
+    
+    public int frequency(int index) {
+        return frequencies[index];
+    }
+    
+    public int size() {
+        return terms.size();
+    }
+    
+    public int getTotalFrequency() {
+        return totalFrequency;
+    }
+    
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+    
+    public static String normalize(String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+    
+    private static String collapseWhitespace(String value) {
+        return value.trim().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,85 @@
+package com.hunterai.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Canonical form of a job posting URL, so the same posting reached through different
+ * links maps to one cache entry.
+ *
+ * Lowercases scheme and host, drops default ports, fragments and a leading "www.",
+ * removes tracking parameters and sorts the remaining query parameters.
+ */
+public class UrlNormalizer {
+    
+    private static final Set<String> TRACKING_PARAMETERS = Set.of(
+        "gclid", "fbclid", "msclkid", "mc_cid", "mc_eid", "ref", "refid", "trk", "trackingid",
+        "lipi", "referer", "referrer"
+    );
+    
+    public static String normalize(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            URI uri = new URI(url.trim());
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return url.trim();
+            }
+            
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            String host = uri.getHost().toLowerCase(Locale.ROOT);
+            if (host.startsWith("www.")) {
+                host = host.substring(4);
+            }
+            int port = uri.getPort();
+            if ((port == 80 && scheme.equals("http")) || (port == 443 && scheme.equals("https"))) {
+                port = -1;
+            }
+            
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            if (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            
+            StringBuilder normalized = new StringBuilder(scheme).append("://").append(host);
+            if (port != -1) {
+                normalized.append(':').append(port);
+            }
+            normalized.append(path);
+            
+            String query = normalizeQuery(uri.getRawQuery());
+            if (!query.isEmpty()) {
+                normalized.append('?').append(query);
+            }
+            return normalized.toString();
+        } catch (URISyntaxException e) {
+            return url.trim();
+        }
+    }
+    
+    private static String normalizeQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> parameters = new ArrayList<>();
+        for (String parameter : rawQuery.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            String name = parameter.split("=", 2)[0].toLowerCase(Locale.ROOT);
+            if (name.startsWith("utm_") || TRACKING_PARAMETERS.contains(name)) {
+                continue;
+            }
+            parameters.add(parameter);
+        }
+        return parameters.stream()
+            .sorted()
+            .collect(Collectors.joining("&"));
+    }
+}
@@ -0,0 +1,192 @@
+package com.hunterai.util;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, instrumented executor for blocking or CPU-heavy stages such as document parsing,
+ * exposed to Reactor as a {@link Scheduler}.
+ *
+ * At most {@code maxThreads} tasks run at once and at most {@code maxQueued} wait behind them;
+ * anything beyond that is rejected instead of piling up. Tasks run on platform threads, or on
+ * virtual threads when requested and the JDK supports them, in which case the same limits are
+ * enforced with a semaphore.
+ */
+@Slf4j
+public class WorkerPool extends AbstractExecutorService {
+    
+    private final String name;
+    private final int maxThreads;
+    private final int maxQueued;
+    private final boolean virtualThreads;
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final Scheduler scheduler;
+    
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    
+    public WorkerPool(String name, int maxThreads, int maxQueued, boolean virtualThreads) {
+        this.name = name;
+        this.maxThreads = maxThreads;
+        this.maxQueued = maxQueued;
+        
+        ExecutorService virtualExecutor = virtualThreads ? newVirtualThreadExecutor(name) : null;
+        this.virtualThreads = virtualExecutor != null;
+        this.delegate = virtualExecutor != null
+            ? virtualExecutor
+            : Executors.newFixedThreadPool(maxThreads, platformThreadFactory(name));
+        this.permits = virtualExecutor != null ? new Semaphore(maxThreads) : null;
+        this.scheduler = Schedulers.fromExecutorService(this, name);
+    }
+    
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public void execute(Runnable task) {
+        if (pending.incrementAndGet() > maxThreads + maxQueued) {
+            pending.decrementAndGet();
+            rejected.increment();
+            throw new RejectedExecutionException("Worker pool " + name + " is saturated");
+        }
+        submitted.increment();
+        long enqueuedAt = System.nanoTime();
+        try {
+            delegate.execute(() -> run(task, enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            rejected.increment();
+            throw e;
+        }
+    }
+    
+    private void run(Runnable task, long enqueuedAt) {
+        if (permits != null) {
+            permits.acquireUninterruptibly();
+        }
+        queueWaitNanos.add(System.nanoTime() - enqueuedAt);
+        active.incrementAndGet();
+        try {
+            task.run();
+            completed.increment();
+        } catch (RuntimeException | Error e) {
+            failed.increment();
+            throw e;
+        } finally {
+            active.decrementAndGet();
+            pending.decrementAndGet();
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+    
+    public Stats stats() {
+        int running = active.get();
+        long done = completed.sum() + failed.sum();
+        return new Stats(
+            name,
+            virtualThreads,
+            maxThreads,
+            maxQueued,
+            running,
+            Math.max(0, pending.get() - running),
+            submitted.sum(),
+            completed.sum(),
+            failed.sum(),
+            rejected.sum(),
+            done == 0 ? 0 : queueWaitNanos.sum() / done / 1_000_000.0
+        );
+    }
+    
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+    
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+    
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+    
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+    
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+    
+    /**
+     * Disposes the scheduler, which shuts down the underlying threads.
+     */
+    public void dispose() {
+        scheduler.dispose();
+    }
+    
+    private static ThreadFactory platformThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static ExecutorService newVirtualThreadExecutor(String name) {
+        // Looked up reflectively so the application still builds and runs on Java 17
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not available on Java {}, worker pool {} uses platform threads",
+                Runtime.version().feature(), name);
+            return null;
+        }
+    }
+    
+    @Value
+    public static class Stats {
+        String name;
+        boolean virtualThreads;
+        int maxThreads;
+        int maxQueued;
+        int active;
+        int queued;
+        long submitted;
+        long completed;
+        long failed;
+        long rejected;
+        double averageQueueWaitMillis;
+    }
+}
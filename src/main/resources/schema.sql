@@ -2,6 +2,7 @@
 CREATE TABLE IF NOT EXISTS job_descriptions (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     url VARCHAR(500),
+    normalized_url VARCHAR(500),
     title VARCHAR(255) NOT NULL,
     company VARCHAR(255) NOT NULL,
     description TEXT,
@@ -10,7 +11,10 @@ CREATE TABLE IF NOT EXISTS job_descriptions (
     technologies TEXT,
     soft_skills TEXT,
     responsibilities TEXT,
-    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+    term_vector TEXT,
+    content_hash VARCHAR(64),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    refreshed_at TIMESTAMP
 );
 
 -- Resumes
@@ -19,6 +23,8 @@ CREATE TABLE IF NOT EXISTS resumes (
     name VARCHAR(255) NOT NULL,
     summary TEXT,
     skills TEXT,
+    term_vector TEXT,
+    content_hash VARCHAR(64),
     version VARCHAR(50) NOT NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
@@ -89,3 +95,15 @@ CREATE TABLE IF NOT EXISTS timeline_events (
     FOREIGN KEY (application_id) REFERENCES job_applications(id) ON DELETE CASCADE
 );
 
+-- Columns added after the initial release, for existing databases
+ALTER TABLE job_descriptions ADD COLUMN IF NOT EXISTS term_vector TEXT;
+ALTER TABLE job_descriptions ADD COLUMN IF NOT EXISTS normalized_url VARCHAR(500);
+ALTER TABLE job_descriptions ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+ALTER TABLE job_descriptions ADD COLUMN IF NOT EXISTS refreshed_at TIMESTAMP;
+ALTER TABLE resumes ADD COLUMN IF NOT EXISTS term_vector TEXT;
+ALTER TABLE resumes ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+-- Indexes
+CREATE INDEX IF NOT EXISTS idx_job_descriptions_normalized_url ON job_descriptions (normalized_url, created_at);
+CREATE INDEX IF NOT EXISTS idx_job_applications_job_link ON job_applications (job_link);
+CREATE INDEX IF NOT EXISTS idx_resumes_content_hash ON resumes (content_hash);
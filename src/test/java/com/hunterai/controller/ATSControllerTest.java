@@ -0,0 +1,66 @@
+package com.hunterai.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ATSControllerTest {
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @Value("${hunterai.ats.batch.max-ids}")
+    private int batchMaxIds;
+    
+    @Test
+    void rejectsTooManyJobDescriptionIds() {
+        webTestClient.get()
+            .uri("/api/ats/score/batch?resumeId=1&jobDescriptionIds={ids}", ids(batchMaxIds + 1))
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+    
+    @Test
+    void rejectsTooManyResumeIds() {
+        webTestClient.get()
+            .uri("/api/ats/score/batch?resumeIds={ids}&jobDescriptionId=1", ids(batchMaxIds + 1))
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+    
+    @Test
+    void rejectsBatchWithoutBothSides() {
+        webTestClient.get()
+            .uri("/api/ats/score/batch?resumeId=1")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+    
+    @Test
+    void rejectsUnknownWeighting() {
+        webTestClient.get()
+            .uri("/api/ats/rank?jobDescriptionId=1&weighting=tfidf")
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.detail").isEqualTo("Unknown weighting 'tfidf', expected one of [UNIFORM, BM25]");
+        webTestClient.get()
+            .uri("/api/ats/score?resumeId=1&jobDescriptionId=1&weighting=tfidf")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+    
+    private static String ids(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+}
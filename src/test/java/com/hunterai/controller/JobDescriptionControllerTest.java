@@ -0,0 +1,119 @@
+package com.hunterai.controller;
+
+import com.hunterai.dto.BulkJobDescriptionRequest;
+import com.hunterai.dto.JobDescriptionRequest;
+import com.hunterai.dto.JobDescriptionResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class JobDescriptionControllerTest {
+    
+    private static HttpServer jobSite;
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @BeforeAll
+    static void startJobSite() throws IOException {
+        // Serves a job posting at any path, the path names the role
+        jobSite = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        jobSite.createContext("/", exchange -> {
+            String role = exchange.getRequestURI().getPath().substring(1);
+            byte[] page = ("<html><head><title>" + role + "</title></head><body><main>"
+                + "<h1 class=\"job-title\">" + role + "</h1><div class=\"company\">Acme</div>"
+                + "<div class=\"job-description\">We need java, spring boot, docker, kubernetes and aws experience. "
+                + "Remote friendly senior role with strong communication and leadership skills.</div>"
+                + "</main></body></html>").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(page);
+            }
+        });
+        jobSite.start();
+    }
+    
+    @AfterAll
+    static void stopJobSite() {
+        jobSite.stop(0);
+    }
+    
+    @Test
+    void analyzesScrapedJobDescription() {
+        JobDescriptionResponse response = webTestClient.post()
+            .uri("/api/job-descriptions/analyze")
+            .bodyValue(new JobDescriptionRequest(jobUrl("backend-engineer"), null))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(JobDescriptionResponse.class)
+            .returnResult()
+            .getResponseBody();
+        
+        assertThat(response.getId()).isNotNull();
+        assertThat(response.getTitle()).isEqualTo("backend-engineer");
+        assertThat(response.getExtractedData().getRequiredSkills()).isNotEmpty();
+    }
+    
+    @Test
+    void streamsOneLinePerDistinctUrl() {
+        List<String> urls = List.of(jobUrl("platform-engineer"), jobUrl("data-engineer"),
+            jobUrl("site-reliability-engineer"), jobUrl("data-engineer"));
+        
+        List<JobDescriptionResponse> responses = webTestClient.post()
+            .uri("/api/job-descriptions/bulk")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(new BulkJobDescriptionRequest(urls))
+            .exchange()
+            .expectStatus().isOk()
+            .returnResult(JobDescriptionResponse.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+        
+        assertThat(responses).extracting(JobDescriptionResponse::getUrl)
+            .containsExactlyInAnyOrder(jobUrl("platform-engineer"), jobUrl("data-engineer"), jobUrl("site-reliability-engineer"));
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.getId()).isNotNull();
+            assertThat(response.getError()).isNull();
+        });
+    }
+    
+    @Test
+    void rejectsEmptyBulkRequest() {
+        webTestClient.post()
+            .uri("/api/job-descriptions/bulk")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(new BulkJobDescriptionRequest(List.of()))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+    
+    @Test
+    void rejectsBulkRequestWithoutUrls() {
+        webTestClient.post()
+            .uri("/api/job-descriptions/bulk")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(new BulkJobDescriptionRequest(null))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+    
+    private static String jobUrl(String role) {
+        return "http://localhost:" + jobSite.getAddress().getPort() + "/" + role;
+    }
+}
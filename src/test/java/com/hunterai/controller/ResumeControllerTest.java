@@ -0,0 +1,116 @@
+package com.hunterai.controller;
+
+import com.hunterai.dto.ResumeResponse;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResumeControllerTest {
+    
+    private static final List<String> RESUME = List.of(
+        "Jane Roe",
+        "Backend engineer building reliable distributed systems.",
+        "EXPERIENCE",
+        "Senior Engineer | Acme Corp Jan 2019 - Present",
+        "- Built an event pipeline handling a million messages a day",
+        "SKILLS",
+        "Java, Python, Docker",
+        "PROJECTS",
+        "Job matcher",
+        "- Matches resumes to job descriptions",
+        "EDUCATION");
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @Test
+    void uploadsPdfResume() throws IOException {
+        ResumeResponse resume = upload("resume.pdf", pdf(RESUME));
+        
+        assertThat(resume.getId()).isNotNull();
+        assertThat(resume.getOriginalContent().getSkills()).contains("Java", "Python", "Docker");
+        assertThat(resume.getOriginalContent().getExperience()).isNotEmpty();
+    }
+    
+    @Test
+    void uploadsDocxResume() throws IOException {
+        ResumeResponse resume = upload("resume.docx", docx(RESUME));
+        
+        assertThat(resume.getId()).isNotNull();
+        assertThat(resume.getOriginalContent().getSkills()).contains("Java", "Python", "Docker");
+    }
+    
+    @Test
+    void reusesParseOfSameFile() throws IOException {
+        byte[] file = pdf(List.of("John Poe", "SKILLS", "Go, Rust, Kafka"));
+        
+        assertThat(upload("first.pdf", file).getId()).isEqualTo(upload("second.pdf", file).getId());
+    }
+    
+    private ResumeResponse upload(String fileName, byte[] content) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", new ByteArrayResource(content) {
+            @Override
+            public String getFilename() {
+                return fileName;
+            }
+        });
+        return webTestClient.post()
+            .uri("/api/resumes/upload")
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .body(BodyInserters.fromMultipartData(body.build()))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(ResumeResponse.class)
+            .returnResult()
+            .getResponseBody();
+    }
+    
+    private static byte[] pdf(List<String> lines) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 11);
+                content.setLeading(14);
+                content.newLineAtOffset(50, 740);
+                for (String line : lines) {
+                    content.showText(line);
+                    content.newLine();
+                }
+                content.endText();
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+    
+    private static byte[] docx(List<String> lines) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (String line : lines) {
+                document.createParagraph().createRun().setText(line);
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.hunterai.service.impl;
+
+import com.hunterai.dto.ATSScoreResponse;
+import com.hunterai.dto.JobDescriptionRequest;
+import com.hunterai.model.Resume;
+import com.hunterai.repository.ResumeRepository;
+import com.hunterai.service.ATSService;
+import com.hunterai.service.JobDescriptionService;
+import com.hunterai.util.ATSScorer;
+import com.hunterai.util.TermVector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ATSServiceImplTest {
+    
+    private static final String JOB = "Senior backend engineer. We need java, spring boot, docker, kubernetes "
+        + "and aws experience, plus strong communication and leadership for a remote friendly team.";
+    
+    @Autowired
+    private ATSService atsService;
+    
+    @Autowired
+    private JobDescriptionService jobDescriptionService;
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    private Long jobDescriptionId;
+    private Long bestResumeId;
+    private List<Long> resumeIds;
+    
+    @BeforeAll
+    void seed() {
+        jobDescriptionId = jobDescriptionService.analyzeJobDescription(new JobDescriptionRequest(null, JOB))
+            .block()
+            .getId();
+        bestResumeId = saveResume("Best match", "Java", "Spring Boot", "Docker", "Kubernetes", "AWS", "Communication", "Leadership");
+        resumeIds = List.of(bestResumeId,
+            saveResume("Partial match", "Java", "Docker"),
+            saveResume("No match", "Photoshop", "Illustrator"));
+    }
+    
+    @Test
+    void ranksBestResumesFirst() {
+        // Subscribed on a non-blocking thread, so the blockhound profile flags any blocking call in the pipeline
+        StepVerifier.create(rankOnParallel(2).collectList())
+            .assertNext(ranked -> {
+                assertThat(ranked).hasSize(2);
+                assertThat(ranked.get(0).getResumeId()).isEqualTo(bestResumeId);
+                assertThat(ranked).isSortedAccordingTo(Comparator.comparingInt(ATSScoreResponse::getScore).reversed());
+                assertThat(ranked).allSatisfy(score -> assertThat(score.getJobDescriptionId()).isEqualTo(jobDescriptionId));
+            })
+            .verifyComplete();
+    }
+    
+    @Test
+    void rankingMatchesIndividualScores() {
+        List<ATSScoreResponse> ranked = new ArrayList<>();
+        StepVerifier.create(rankOnParallel(100))
+            .recordWith(() -> ranked)
+            .thenConsumeWhile(score -> true)
+            .verifyComplete();
+        
+        for (ATSScoreResponse score : ranked) {
+            StepVerifier.create(atsService.calculateScore(score.getResumeId(), jobDescriptionId, ATSScorer.Weighting.BM25))
+                .assertNext(single -> assertThat(single.getScore()).isEqualTo(score.getScore()))
+                .verifyComplete();
+        }
+    }
+    
+    @Test
+    void batchScoresMatchIndividualScores() {
+        List<ATSScoreResponse> batch = new ArrayList<>();
+        StepVerifier.create(atsService.scoreResumesAgainst(resumeIds, jobDescriptionId, ATSScorer.Weighting.UNIFORM))
+            .recordWith(() -> batch)
+            .thenConsumeWhile(score -> true)
+            .verifyComplete();
+        
+        assertThat(batch).extracting(ATSScoreResponse::getResumeId).containsExactlyInAnyOrderElementsOf(resumeIds);
+        for (ATSScoreResponse score : batch) {
+            StepVerifier.create(atsService.calculateScore(score.getResumeId(), jobDescriptionId, ATSScorer.Weighting.UNIFORM))
+                .assertNext(single -> assertThat(single.getScore()).isEqualTo(score.getScore()))
+                .verifyComplete();
+        }
+    }
+    
+    @Test
+    void rejectsNonPositiveLimit() {
+        StepVerifier.create(atsService.rankResumes(jobDescriptionId, 0, ATSScorer.Weighting.UNIFORM))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+    }
+    
+    @Test
+    void failsForUnknownJobDescription() {
+        StepVerifier.create(atsService.rankResumes(Long.MAX_VALUE, 5, ATSScorer.Weighting.UNIFORM))
+            .expectErrorMessage("Job description not found")
+            .verify();
+    }
+    
+    private Flux<ATSScoreResponse> rankOnParallel(int limit) {
+        return atsService.rankResumes(jobDescriptionId, limit, ATSScorer.Weighting.BM25)
+            .subscribeOn(Schedulers.parallel());
+    }
+    
+    private Long saveResume(String name, String... skills) {
+        Resume resume = new Resume();
+        resume.setName(name);
+        resume.setSkillsJson("[]");
+        resume.setTermVector(TermVector.ofTexts(List.of(skills)).encode());
+        resume.setVersion("original");
+        resume.setCreatedAt(LocalDateTime.now());
+        return resumeRepository.save(resume).block().getId();
+    }
+}
@@ -0,0 +1,223 @@
+package com.hunterai.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostGovernorTest {
+    
+    private static final Duration MAX_WAIT = Duration.ofSeconds(2);
+    private static final Duration LONG = Duration.ofMinutes(10);
+    
+    @Test
+    void grantsBurstThenRefillsAtConfiguredRate() {
+        HostGovernor governor = new HostGovernor(10, 2, 10, MAX_WAIT, 5, LONG, LONG);
+        governor.acquire("jobs.example").block().success();
+        governor.acquire("jobs.example").block().success();
+        
+        long start = System.nanoTime();
+        governor.acquire("jobs.example").block().success();
+        
+        // The third permit waits for a token at 10 per second
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(80));
+    }
+    
+    @Test
+    void failsWhenNoTokenAccruesWithinMaxWait() {
+        HostGovernor governor = new HostGovernor(0.1, 1, 10, Duration.ofMillis(100), 5, LONG, LONG);
+        governor.acquire("jobs.example").block().success();
+        
+        StepVerifier.create(governor.acquire("jobs.example"))
+            .expectError(HostGovernor.HostUnavailableException.class)
+            .verify();
+        assertThat(stats(governor, "jobs.example").getTimedOut()).isEqualTo(1);
+    }
+    
+    @Test
+    void capsConcurrentRequestsPerHost() {
+        HostGovernor governor = new HostGovernor(100, 10, 1, MAX_WAIT, 5, LONG, LONG);
+        HostGovernor.Permit first = governor.acquire("jobs.example").block();
+        
+        StepVerifier.create(governor.acquire("jobs.example"))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(100))
+            .then(first::success)
+            .expectNextCount(1)
+            .verifyComplete();
+    }
+    
+    @Test
+    void hostsAreLimitedIndependently() {
+        HostGovernor governor = new HostGovernor(100, 10, 1, MAX_WAIT, 5, LONG, LONG);
+        governor.acquire("jobs.example").block();
+        
+        StepVerifier.create(governor.acquire("careers.example"))
+            .expectNextCount(1)
+            .verifyComplete();
+    }
+    
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsImmediately() {
+        HostGovernor governor = new HostGovernor(100, 10, 10, MAX_WAIT, 2, LONG, LONG);
+        governor.acquire("jobs.example").block().failure();
+        governor.acquire("jobs.example").block().failure();
+        
+        StepVerifier.create(governor.acquire("jobs.example"))
+            .expectErrorMessage("Circuit open for jobs.example")
+            .verify(Duration.ofMillis(100));
+        assertThat(stats(governor, "jobs.example").getCircuit()).isEqualTo(HostGovernor.CircuitState.OPEN);
+    }
+    
+    @Test
+    void successResetsFailureRun() {
+        HostGovernor governor = new HostGovernor(100, 10, 10, MAX_WAIT, 2, LONG, LONG);
+        governor.acquire("jobs.example").block().failure();
+        governor.acquire("jobs.example").block().success();
+        governor.acquire("jobs.example").block().failure();
+        
+        assertThat(stats(governor, "jobs.example").getCircuit()).isEqualTo(HostGovernor.CircuitState.CLOSED);
+    }
+    
+    @Test
+    void halfOpenAdmitsOneTrialThatClosesOnSuccess() throws InterruptedException {
+        HostGovernor governor = new HostGovernor(100, 10, 10, MAX_WAIT, 1, Duration.ofMillis(100), LONG);
+        governor.acquire("jobs.example").block().failure();
+        Thread.sleep(150);
+        
+        HostGovernor.Permit trial = governor.acquire("jobs.example").block();
+        assertThat(stats(governor, "jobs.example").getCircuit()).isEqualTo(HostGovernor.CircuitState.HALF_OPEN);
+        
+        // A second request waits for the trial's outcome
+        StepVerifier.create(governor.acquire("jobs.example"))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(100))
+            .then(trial::success)
+            .expectNextCount(1)
+            .verifyComplete();
+        assertThat(stats(governor, "jobs.example").getCircuit()).isEqualTo(HostGovernor.CircuitState.CLOSED);
+    }
+    
+    @Test
+    void failedTrialReopensAndFailsWaiters() throws InterruptedException {
+        HostGovernor governor = new HostGovernor(100, 10, 10, MAX_WAIT, 1, Duration.ofMillis(100), LONG);
+        governor.acquire("jobs.example").block().failure();
+        Thread.sleep(150);
+        HostGovernor.Permit trial = governor.acquire("jobs.example").block();
+        
+        StepVerifier.create(governor.acquire("jobs.example"))
+            .expectSubscription()
+            .then(trial::failure)
+            .expectError(HostGovernor.HostUnavailableException.class)
+            .verify();
+        assertThat(stats(governor, "jobs.example").getCircuit()).isEqualTo(HostGovernor.CircuitState.OPEN);
+    }
+    
+    @Test
+    void backgroundWaitsWhileInteractiveRequestRuns() {
+        HostGovernor governor = new HostGovernor(100, 10, 10, MAX_WAIT, 5, LONG, LONG);
+        HostGovernor.Permit interactive = governor.acquire("jobs.example").block();
+        
+        StepVerifier.create(governor.acquireBackground("jobs.example"))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(100))
+            .then(interactive::success)
+            .expectNextCount(1)
+            .verifyComplete();
+    }
+    
+    @Test
+    void interactiveRequestsGoBeforeQueuedBackgroundWork() {
+        HostGovernor governor = new HostGovernor(100, 10, 1, MAX_WAIT, 5, LONG, LONG);
+        HostGovernor.Permit running = governor.acquire("jobs.example").block();
+        List<String> granted = new CopyOnWriteArrayList<>();
+        AtomicReference<HostGovernor.Permit> interactive = new AtomicReference<>();
+        governor.acquireBackground("jobs.example").subscribe(permit -> granted.add("background"));
+        governor.acquire("jobs.example").subscribe(permit -> {
+            granted.add("interactive");
+            interactive.set(permit);
+        });
+        
+        running.success();
+        assertThat(granted).containsExactly("interactive");
+        
+        interactive.get().success();
+        assertThat(granted).containsExactly("interactive", "background");
+    }
+    
+    @Test
+    void backgroundLeavesTokenInReserve() {
+        HostGovernor governor = new HostGovernor(0.1, 2, 10, Duration.ofMillis(200), 5, LONG, LONG);
+        governor.acquireBackground("jobs.example").block().success();
+        
+        // One token left, which background work may not take
+        StepVerifier.create(governor.acquireBackground("jobs.example"))
+            .expectError(HostGovernor.HostUnavailableException.class)
+            .verify();
+        StepVerifier.create(governor.acquire("jobs.example"))
+            .expectNextCount(1)
+            .verifyComplete();
+    }
+    
+    @Test
+    void backgroundIsRejectedUnlessCircuitIsClosed() throws InterruptedException {
+        HostGovernor governor = new HostGovernor(100, 10, 10, MAX_WAIT, 1, Duration.ofMillis(100), LONG);
+        governor.acquire("jobs.example").block().failure();
+        
+        StepVerifier.create(governor.acquireBackground("jobs.example"))
+            .expectError(HostGovernor.HostUnavailableException.class)
+            .verify(Duration.ofMillis(100));
+        Thread.sleep(150);
+        // Half-open: only an interactive trial may probe the host
+        StepVerifier.create(governor.acquireBackground("jobs.example"))
+            .expectError(HostGovernor.HostUnavailableException.class)
+            .verify(Duration.ofMillis(100));
+    }
+    
+    @Test
+    void evictsIdleHosts() throws InterruptedException {
+        HostGovernor governor = new HostGovernor(1000, 1, 10, MAX_WAIT, 5, LONG, Duration.ofMillis(100));
+        governor.acquire("jobs.example").block().success();
+        HostGovernor.Permit running = governor.acquire("careers.example").block();
+        Thread.sleep(150);
+        
+        governor.acquire("other.example").block().success();
+        
+        assertThat(governor.stats()).extracting(HostGovernor.HostStats::getHost)
+            .containsExactlyInAnyOrder("careers.example", "other.example");
+        running.success();
+    }
+    
+    @Test
+    void evictsOpenCircuitOnceOpenDurationRanOut() throws InterruptedException {
+        HostGovernor governor = new HostGovernor(1000, 1, 10, MAX_WAIT, 1, Duration.ofMillis(100), Duration.ofMillis(100));
+        governor.acquire("jobs.example").block().failure();
+        Thread.sleep(150);
+        
+        governor.acquire("other.example").block().success();
+        
+        assertThat(governor.stats()).extracting(HostGovernor.HostStats::getHost).containsExactly("other.example");
+    }
+    
+    @Test
+    void keepsOpenCircuitUntilOpenDurationRanOut() throws InterruptedException {
+        HostGovernor governor = new HostGovernor(1000, 1, 10, MAX_WAIT, 1, LONG, Duration.ofMillis(100));
+        governor.acquire("jobs.example").block().failure();
+        Thread.sleep(150);
+        
+        governor.acquire("other.example").block().success();
+        
+        assertThat(stats(governor, "jobs.example").getCircuit()).isEqualTo(HostGovernor.CircuitState.OPEN);
+    }
+    
+    private static HostGovernor.HostStats stats(HostGovernor governor, String host) {
+        List<HostGovernor.HostStats> stats = governor.stats();
+        return stats.stream().filter(s -> s.getHost().equals(host)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,146 @@
+package com.hunterai.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobDescriptionScraperTest {
+    
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+    
+    @TempDir
+    Path cacheDirectory;
+    
+    private HttpServer jobSite;
+    // Validators sent with each request, "-" when it was unconditional
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private PageCache pageCache;
+    private JobDescriptionScraper scraper;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        // /etag/* pages carry an ETag, /modified/* pages a Last-Modified date, both answer 304 when they match
+        jobSite = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        jobSite.createContext("/etag/", exchange -> respond(exchange,
+            "If-None-Match", ETAG, "ETag", ETAG));
+        jobSite.createContext("/modified/", exchange -> respond(exchange,
+            "If-Modified-Since", LAST_MODIFIED, "Last-Modified", LAST_MODIFIED));
+        jobSite.start();
+        
+        pageCache = new PageCache(cacheDirectory, 1_000_000);
+        HostGovernor hostGovernor = new HostGovernor(100, 10, 4, Duration.ofSeconds(5), 5,
+            Duration.ofSeconds(30), Duration.ofMinutes(10));
+        scraper = new JobDescriptionScraper(WebClient.create(), Schedulers.boundedElastic(), Duration.ofSeconds(5),
+            pageCache, hostGovernor, ExtractorRegistry.defaults(), SkillTaxonomy.load("taxonomy/skills-v1.json"),
+            2_000_000, 20_000);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        jobSite.stop(0);
+    }
+    
+    @Test
+    void revalidatesWithEtagAndServesCachedBody() {
+        String url = url("/etag/backend-engineer");
+        
+        assertThat(scraper.scrapeJobDescription(url).block().title).isEqualTo("backend-engineer");
+        assertThat(scraper.scrapeJobDescription(url).block().title).isEqualTo("backend-engineer");
+        
+        assertThat(requests).containsExactly("-", ETAG);
+        assertThat(pageCache.stats().getRevalidated()).isEqualTo(1);
+    }
+    
+    @Test
+    void revalidatesWithLastModified() {
+        String url = url("/modified/data-engineer");
+        
+        scraper.scrapeJobDescription(url).block();
+        assertThat(scraper.scrapeJobDescription(url).block().title).isEqualTo("data-engineer");
+        
+        assertThat(requests).containsExactly("-", LAST_MODIFIED);
+        assertThat(pageCache.stats().getRevalidated()).isEqualTo(1);
+    }
+    
+    @Test
+    void refetchesWhenCachedBodyIsMissingAfter304() throws IOException {
+        String url = url("/etag/platform-engineer");
+        scraper.scrapeJobDescription(url).block();
+        deleteCachedBodies();
+        
+        assertThat(scraper.scrapeJobDescription(url).block().title).isEqualTo("platform-engineer");
+        
+        // The 304 could not be served, so the page was fetched again unconditionally and cached anew
+        assertThat(requests).containsExactly("-", ETAG, "-");
+        assertThat(pageCache.lookup(UrlNormalizer.normalize(url))).isNotNull();
+        assertThat(pageCache.stats().getStores()).isEqualTo(2);
+    }
+    
+    @Test
+    void refreshCompletesEmptyWhenUnchanged() {
+        String url = url("/etag/site-reliability-engineer");
+        scraper.scrapeJobDescription(url).block();
+        
+        StepVerifier.create(scraper.refreshJobDescription(url))
+            .verifyComplete();
+        assertThat(requests).containsExactly("-", ETAG);
+    }
+    
+    private void respond(HttpExchange exchange, String conditionHeader, String validator,
+                         String validatorHeader, String validatorValue) throws IOException {
+        String condition = exchange.getRequestHeaders().getFirst(conditionHeader);
+        requests.add(condition != null ? condition : "-");
+        exchange.getResponseHeaders().set(validatorHeader, validatorValue);
+        if (validator.equals(condition)) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        String role = path.substring(path.lastIndexOf('/') + 1);
+        byte[] page = ("<html><head><title>" + role + "</title></head><body><main>"
+            + "<h1 class=\"job-title\">" + role + "</h1><div class=\"company\">Acme</div>"
+            + "<div class=\"job-description\">We need java, spring boot, docker, kubernetes and aws experience. "
+            + "Remote friendly senior role with strong communication and leadership skills.</div>"
+            + "</main></body></html>").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, page.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(page);
+        }
+    }
+    
+    private void deleteCachedBodies() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.toString().endsWith(".body")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+    
+    private String url(String path) {
+        return "http://localhost:" + jobSite.getAddress().getPort() + path;
+    }
+}
@@ -0,0 +1,63 @@
+package com.hunterai.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobTermsCacheTest {
+    
+    private final ATSScorer scorer = new ATSScorer();
+    private final TermVector terms = TermVector.ofKeywords(List.of("java", "docker"));
+    private final AtomicInteger compiles = new AtomicInteger();
+    
+    @Test
+    void reusesCompiledJobForSameVersion() {
+        JobTermsCache cache = new JobTermsCache(10);
+        
+        ATSScorer.JobTerms first = cache.get(1L, 7, this::compile);
+        ATSScorer.JobTerms second = cache.get(1L, 7, this::compile);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(compiles).hasValue(1);
+    }
+    
+    @Test
+    void recompilesChangedContent() {
+        JobTermsCache cache = new JobTermsCache(10);
+        
+        ATSScorer.JobTerms original = cache.get(1L, 7, this::compile);
+        
+        assertThat(cache.get(1L, 8, this::compile)).isNotSameAs(original);
+        assertThat(compiles).hasValue(2);
+    }
+    
+    @Test
+    void evictsLeastRecentlyUsedJob() {
+        JobTermsCache cache = new JobTermsCache(2);
+        ATSScorer.JobTerms first = cache.get(1L, 1, this::compile);
+        cache.get(2L, 1, this::compile);
+        cache.get(1L, 1, this::compile);
+        cache.get(3L, 1, this::compile);
+        
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1L, 1, this::compile)).isSameAs(first);
+        cache.get(2L, 1, this::compile);
+        assertThat(compiles).hasValue(4);
+    }
+    
+    @Test
+    void doesNotCacheWhenDisabled() {
+        JobTermsCache cache = new JobTermsCache(0);
+        
+        assertThat(cache.get(1L, 1, this::compile)).isNotSameAs(cache.get(1L, 1, this::compile));
+        assertThat(cache.size()).isZero();
+    }
+    
+    private ATSScorer.JobTerms compile() {
+        compiles.incrementAndGet();
+        return scorer.compileJob(terms);
+    }
+}
@@ -0,0 +1,108 @@
+package com.hunterai.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCacheTest {
+    
+    private static final String PAGE = "x".repeat(100);
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void storesPagesWithValidators() throws IOException {
+        PageCache cache = new PageCache(directory, 10_000);
+        cache.store("https://jobs.example/1", "\"v1\"", null, PAGE);
+        cache.store("https://jobs.example/2", null, "Wed, 21 Oct 2015 07:28:00 GMT", PAGE);
+        
+        PageCache.Entry etagOnly = cache.lookup("https://jobs.example/1");
+        PageCache.Entry lastModifiedOnly = cache.lookup("https://jobs.example/2");
+        assertThat(etagOnly.etag).isEqualTo("\"v1\"");
+        assertThat(lastModifiedOnly.lastModified).isEqualTo("Wed, 21 Oct 2015 07:28:00 GMT");
+        assertThat(cache.read(etagOnly)).isEqualTo(PAGE);
+    }
+    
+    @Test
+    void skipsPagesWithoutValidators() {
+        PageCache cache = new PageCache(directory, 10_000);
+        cache.store("https://jobs.example/1", null, null, PAGE);
+        
+        assertThat(cache.lookup("https://jobs.example/1")).isNull();
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+    }
+    
+    @Test
+    void evictsLeastRecentlyUsedPagesOverBudget() throws IOException {
+        PageCache cache = new PageCache(directory, 250);
+        cache.store("https://jobs.example/1", "\"1\"", null, PAGE);
+        cache.store("https://jobs.example/2", "\"2\"", null, PAGE);
+        cache.lookup("https://jobs.example/1");
+        cache.store("https://jobs.example/3", "\"3\"", null, PAGE);
+        
+        assertThat(cache.lookup("https://jobs.example/2")).isNull();
+        assertThat(cache.lookup("https://jobs.example/1")).isNotNull();
+        assertThat(cache.lookup("https://jobs.example/3")).isNotNull();
+        assertThat(cache.stats().getEvictions()).isEqualTo(1);
+        assertThat(cache.stats().getBytes()).isEqualTo(200);
+        // The evicted page's files are deleted too
+        assertThat(fileCount()).isEqualTo(4);
+    }
+    
+    @Test
+    void skipsPagesLargerThanBudget() {
+        PageCache cache = new PageCache(directory, 50);
+        cache.store("https://jobs.example/1", "\"1\"", null, PAGE);
+        
+        assertThat(cache.lookup("https://jobs.example/1")).isNull();
+    }
+    
+    @Test
+    void reloadsIndexFromDirectory() throws IOException {
+        PageCache cache = new PageCache(directory, 10_000);
+        cache.store("https://jobs.example/1", "\"v1\"", null, PAGE);
+        
+        PageCache reloaded = new PageCache(directory, 10_000);
+        
+        assertThat(reloaded.read(reloaded.lookup("https://jobs.example/1"))).isEqualTo(PAGE);
+    }
+    
+    @Test
+    void removesEntryWithMissingBody() throws IOException {
+        PageCache cache = new PageCache(directory, 10_000);
+        cache.store("https://jobs.example/1", "\"v1\"", null, PAGE);
+        PageCache.Entry entry = cache.lookup("https://jobs.example/1");
+        deleteBodies();
+        
+        assertThatThrownBy(() -> cache.read(entry)).isInstanceOf(IOException.class);
+        cache.remove(entry);
+        
+        assertThat(cache.lookup("https://jobs.example/1")).isNull();
+        assertThat(cache.stats().getBytes()).isZero();
+        assertThat(fileCount()).isZero();
+    }
+    
+    private void deleteBodies() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.toString().endsWith(".body")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+    
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}